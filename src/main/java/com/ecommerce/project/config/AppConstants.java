@@ -7,5 +7,10 @@ public class AppConstants {
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_DIR = "asc";
     public static final String SORT_PRODUCT_BY = "productId";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 255;
+    public static final int ORDER_HISTORY_MAX_PAGE_SIZE = 100;
 
 }
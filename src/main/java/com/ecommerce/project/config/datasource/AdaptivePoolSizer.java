@@ -0,0 +1,50 @@
+package com.ecommerce.project.config.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private final HikariDataSource dataSource;
+    private final ConnectionPoolMetrics metrics;
+    private final PoolTuningProperties.Adaptive properties;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource, ConnectionPoolMetrics metrics, PoolTuningProperties.Adaptive properties) {
+        this.dataSource = dataSource;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.ecom.datasource.pool.adaptive.interval:PT10S}")
+    public void resize() {
+        ConnectionPoolMetrics.AcquireWindow window = metrics.drainAcquireWindow();
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (!properties.isEnabled() || pool == null) {
+            return;
+        }
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int target = current;
+        long growAboveMicros = properties.getGrowAboveWait().toNanos() / 1_000;
+        long shrinkBelowMicros = properties.getShrinkBelowWait().toNanos() / 1_000;
+
+        if (window.meanMicros() > growAboveMicros || pool.getThreadsAwaitingConnection() > 0) {
+            target = Math.min(properties.getMaxPoolSize(), current + properties.getStep());
+        } else if (window.maxMicros() < shrinkBelowMicros && pool.getIdleConnections() > properties.getStep()) {
+            target = Math.max(properties.getMinPoolSize(), current - properties.getStep());
+        }
+        if (target == current) {
+            return;
+        }
+        log.info("Resizing {} from {} to {} connections (acquisitions: {}, mean wait: {} us, max wait: {} us)",
+                dataSource.getPoolName(), current, target, window.acquisitions(), window.meanMicros(), window.maxMicros());
+        config.setMaximumPoolSize(target);
+        if (config.getMinimumIdle() > target) {
+            config.setMinimumIdle(target);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.project.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class ConnectionPoolMetrics {
+
+    private static final String BACKGROUND = "background";
+
+    private final String poolName;
+    private final long longHoldThresholdMicros;
+    private final ConcurrentMap<String, ConnectionUsageStats> statsByEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder windowAcquisitions = new LongAdder();
+    private final LongAdder windowAcquireMicros = new LongAdder();
+    private final AtomicLong windowMaxAcquireMicros = new AtomicLong();
+
+    public ConnectionPoolMetrics(String poolName, Duration longHoldThreshold) {
+        this.poolName = poolName;
+        this.longHoldThresholdMicros = longHoldThreshold.toNanos() / 1_000;
+    }
+
+    public String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return BACKGROUND;
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return BACKGROUND;
+    }
+
+    public void recordAcquire(String endpoint, long micros) {
+        stats(endpoint).getAcquireMicros().record(micros);
+        windowAcquisitions.increment();
+        windowAcquireMicros.add(micros);
+        windowMaxAcquireMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public void recordAcquireFailure(String endpoint) {
+        stats(endpoint).getAcquireFailures().increment();
+    }
+
+    public void recordHold(String endpoint, long micros) {
+        ConnectionUsageStats stats = stats(endpoint);
+        stats.getHoldMicros().record(micros);
+        if (micros > longHoldThresholdMicros) {
+            stats.getLongHolds().increment();
+            log.warn("{} connection held for {} ms by {}", poolName, micros / 1_000, endpoint);
+        }
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public Map<String, ConnectionUsageStats> getStatsByEndpoint() {
+        return Map.copyOf(statsByEndpoint);
+    }
+
+    public AcquireWindow drainAcquireWindow() {
+        long acquisitions = windowAcquisitions.sumThenReset();
+        long totalMicros = windowAcquireMicros.sumThenReset();
+        long maxMicros = windowMaxAcquireMicros.getAndSet(0);
+        return new AcquireWindow(acquisitions, acquisitions == 0 ? 0 : totalMicros / acquisitions, maxMicros);
+    }
+
+    private ConnectionUsageStats stats(String endpoint) {
+        return statsByEndpoint.computeIfAbsent(endpoint, key -> new ConnectionUsageStats());
+    }
+
+    public record AcquireWindow(long acquisitions, long meanMicros, long maxMicros) {
+    }
+}
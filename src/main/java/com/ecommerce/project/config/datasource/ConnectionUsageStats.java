@@ -0,0 +1,14 @@
+package com.ecommerce.project.config.datasource;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+public class ConnectionUsageStats {
+
+    private final LatencyHistogram acquireMicros = new LatencyHistogram();
+    private final LatencyHistogram holdMicros = new LatencyHistogram();
+    private final LongAdder acquireFailures = new LongAdder();
+    private final LongAdder longHolds = new LongAdder();
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.project.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({ReplicaDataSourceProperties.class, PoolTuningProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaDataSourceProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReplicaDataSourceProperties replicaProperties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             ConnectionPoolMetrics primaryPoolMetrics) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<ReplicaDataSourceProperties.Replica> configuredReplicas = replicaProperties.getReplicas();
+        for (int i = 0; i < configuredReplicas.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = configuredReplicas.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(dataSource);
+        }
+        // read-only connections that land on the primary still come out of its pool, so the adaptive sizer must see them
+        return new ReplicaRoutingDataSource(
+                new InstrumentedDataSource(primaryDataSource, primaryPoolMetrics),
+                replicas,
+                replicaProperties.getSelection(),
+                readYourWritesTracker,
+                replicaProperties.getFailoverCooldown());
+    }
+
+    @Bean
+    public ConnectionPoolMetrics primaryPoolMetrics(PoolTuningProperties poolProperties) {
+        return new ConnectionPoolMetrics("primary", poolProperties.getLongHoldThreshold());
+    }
+
+    @Bean
+    public ConnectionPoolMetrics replicaPoolMetrics(PoolTuningProperties poolProperties) {
+        return new ConnectionPoolMetrics("replica", poolProperties.getLongHoldThreshold());
+    }
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(HikariDataSource primaryDataSource,
+                                               ConnectionPoolMetrics primaryPoolMetrics,
+                                               PoolTuningProperties poolProperties) {
+        return new AdaptivePoolSizer(primaryDataSource, primaryPoolMetrics, poolProperties.getAdaptive());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ConnectionPoolMetrics primaryPoolMetrics,
+                                 ConnectionPoolMetrics replicaPoolMetrics) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new InstrumentedDataSource(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker), primaryPoolMetrics));
+        dataSource.setReadOnlyDataSource(new InstrumentedDataSource(replicaRoutingDataSource, replicaPoolMetrics));
+        return dataSource;
+    }
+}
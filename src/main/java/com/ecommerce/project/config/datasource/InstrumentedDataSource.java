@@ -0,0 +1,53 @@
+package com.ecommerce.project.config.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final ConnectionPoolMetrics metrics;
+
+    public InstrumentedDataSource(DataSource target, ConnectionPoolMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String endpoint = metrics.currentEndpoint();
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException e) {
+            metrics.recordAcquireFailure(endpoint);
+            throw e;
+        }
+        long acquired = System.nanoTime();
+        metrics.recordAcquire(endpoint, (acquired - start) / 1_000);
+        return holdTracking(connection, endpoint, acquired);
+    }
+
+    private Connection holdTracking(Connection connection, String endpoint, long acquired) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        metrics.recordHold(endpoint, (System.nanoTime() - acquired) / 1_000);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
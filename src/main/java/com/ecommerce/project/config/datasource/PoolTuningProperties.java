@@ -0,0 +1,35 @@
+package com.ecommerce.project.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "spring.ecom.datasource.pool")
+public class PoolTuningProperties {
+
+    /**
+     * Connections held longer than this are counted and logged against the controller method holding them.
+     */
+    private Duration longHoldThreshold = Duration.ofSeconds(2);
+
+    private Adaptive adaptive = new Adaptive();
+
+    @Data
+    public static class Adaptive {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(10);
+        private int minPoolSize = 5;
+        private int maxPoolSize = 50;
+        private int step = 2;
+        /**
+         * Grow the primary pool when the mean acquire wait of the last interval is above this.
+         */
+        private Duration growAboveWait = Duration.ofMillis(5);
+        /**
+         * Shrink the primary pool when the worst acquire wait of the last interval is below this.
+         */
+        private Duration shrinkBelowWait = Duration.ofMillis(1);
+    }
+}
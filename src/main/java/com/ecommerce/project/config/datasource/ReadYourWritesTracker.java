@@ -0,0 +1,63 @@
+package com.ecommerce.project.config.datasource;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class ReadYourWritesTracker {
+
+    private static final int EVICTION_THRESHOLD = 10_000;
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username != null && windowNanos > 0) {
+            lastWrites.put(username, System.nanoTime());
+            if (lastWrites.size() > EVICTION_THRESHOLD) {
+                evictExpired();
+            }
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(username);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(username, lastWrite);
+        return false;
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // anonymous callers all share one principal name, so one anonymous write would pin every anonymous read
+        if (authentication == null || !authentication.isAuthenticated() || trustResolver.isAnonymous(authentication)) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.project.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "spring.ecom.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * How long a user's read-only work stays on the primary after that user ran a write transaction.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * How long a replica is skipped after it failed to hand out a connection.
+     */
+    private Duration failoverCooldown = Duration.ofSeconds(30);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    public enum ReplicaSelection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+}
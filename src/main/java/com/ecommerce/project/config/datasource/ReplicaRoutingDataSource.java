@@ -0,0 +1,108 @@
+package com.ecommerce.project.config.datasource;
+
+import com.ecommerce.project.config.datasource.ReplicaDataSourceProperties.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final ReadYourWritesTracker tracker;
+    private final long failoverCooldownNanos;
+    private final AtomicLongArray unavailableUntil;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<HikariDataSource> replicas,
+                                    ReplicaSelection selection,
+                                    ReadYourWritesTracker tracker,
+                                    Duration failoverCooldown) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.tracker = tracker;
+        this.failoverCooldownNanos = failoverCooldown.toNanos();
+        this.unavailableUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || tracker.mustReadFromPrimary()) {
+            return primary.getConnection();
+        }
+        int first = firstReplica();
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (first + i) % replicas.size();
+            if (!isAvailable(index)) {
+                continue;
+            }
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica {} failed to provide a connection, skipping it for {} ms: {}",
+                        replicas.get(index).getPoolName(), Duration.ofNanos(failoverCooldownNanos).toMillis(), e.getMessage());
+                unavailableUntil.set(index, System.nanoTime() + failoverCooldownNanos);
+            }
+        }
+        log.debug("No replica available, reading from primary");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // replica pools are opened with their own credentials, so explicit ones can only go to the primary
+        return primary.getConnection(username, password);
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private int firstReplica() {
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            return leastLoadedReplica();
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    private int leastLoadedReplica() {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            if (!isAvailable(i)) {
+                continue;
+            }
+            HikariPoolMXBean pool = replicas.get(i).getHikariPoolMXBean();
+            int load = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (load < bestLoad) {
+                best = i;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private boolean isAvailable(int index) {
+        long until = unavailableUntil.get(index);
+        return until == 0 || System.nanoTime() - until >= 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.project.config.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.ecommerce.project.config.metrics.QueryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final int BUFFER_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.reset();
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            accessLog.info(format(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    (System.nanoTime() - start) / 1_000));
+        }
+    }
+
+    private String format(HttpServletRequest request, int status, long durationMicros) {
+        StringBuilder buffer = buffer();
+        buffer.append("method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI());
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            buffer.append(" route=").append(route);
+        }
+        buffer.append(" status=").append(status)
+                .append(" durationMs=").append(durationMicros / 1_000).append('.');
+        long fraction = durationMicros % 1_000;
+        if (fraction < 100) {
+            buffer.append('0');
+        }
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        buffer.append(fraction)
+                .append(" queries=").append(QueryCounter.current());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean anonymous = authentication == null || authentication instanceof AnonymousAuthenticationToken;
+        buffer.append(" user=").append(anonymous ? "-" : authentication.getName());
+
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> ids) {
+            ids.forEach((name, value) -> buffer.append(' ').append(name).append('=').append(value));
+        }
+        return buffer.toString();
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(BUFFER_CAPACITY);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+}
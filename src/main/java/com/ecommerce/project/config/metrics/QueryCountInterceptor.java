@@ -0,0 +1,32 @@
+package com.ecommerce.project.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    static final String QUERY_SUMMARY = "ecom.http.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(QUERY_SUMMARY)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(QueryCounter.current());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.config.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    /**
+     * Maximum number of JDBC statements the annotated call may issue.
+     */
+    int value();
+
+    enum Mode {
+        LOG,
+        FAIL
+    }
+}
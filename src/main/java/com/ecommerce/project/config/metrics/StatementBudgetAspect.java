@@ -0,0 +1,49 @@
+package com.ecommerce.project.config.metrics;
+
+import com.ecommerce.project.exceptions.StatementBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final StatementBudget.Mode mode;
+
+    @Autowired
+    public StatementBudgetAspect(MeterRegistry meterRegistry,
+                                 @Value("${spring.ecom.app.statement-budget.mode}") StatementBudget.Mode mode) {
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+    }
+
+    @Around("@annotation(com.ecommerce.project.config.metrics.StatementBudget)")
+    public Object enforce(ProceedingJoinPoint joinPoint) throws Throwable {
+        StatementBudget budget = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(StatementBudget.class);
+        long before = QueryCounter.current();
+        Object result = joinPoint.proceed();
+        long used = QueryCounter.current() - before;
+        if (used > budget.value()) {
+            String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+            meterRegistry.counter("ecom.statement.budget.exceeded", "method", method).increment();
+            String message = method + " issued " + used + " statements, budget is " + budget.value();
+            if (mode == StatementBudget.Mode.FAIL) {
+                throw new StatementBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+}
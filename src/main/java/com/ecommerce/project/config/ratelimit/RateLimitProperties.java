@@ -0,0 +1,54 @@
+package com.ecommerce.project.config.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "spring.ecom.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on tracked clients across all routes. Clients seen while the map is full share one
+     * overflow bucket per route until idle buckets are evicted.
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * How often idle buckets are evicted; a bucket is idle once it has refilled completely.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * Checked in order, the first route matching the request's method and path applies.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private List<String> methods = new ArrayList<>();
+        private int capacity = 60;
+        /**
+         * Time for an empty bucket to refill to capacity.
+         */
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        private KeyType key = KeyType.USER;
+    }
+
+    public enum KeyType {
+        /**
+         * The client address.
+         */
+        IP,
+        /**
+         * The authenticated username, or the client address for anonymous requests.
+         */
+        USER
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.project.config.ratelimit;
+
+import com.ecommerce.project.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token buckets per route and client, held in a map bounded by {@code max-buckets}. Buckets that have
+ * refilled completely carry no state worth keeping, so the sweep drops them. A new client arriving at a full
+ * map first makes room by evicting such a bucket; only when none is found is it charged to a per-route
+ * overflow bucket, which is counted in {@code ecom.rate_limit.overflow}.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final long OVERFLOW_SWEEP_GAP_NANOS = 1_000_000_000L;
+    private static final int EVICTION_PROBES = 16;
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final List<Route> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextOverflowSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxBuckets = properties.getMaxBuckets();
+        this.routes = new ArrayList<>(properties.getRoutes().size());
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getCapacity() <= 0) {
+                throw new IllegalArgumentException("Rate limit route " + route.getPattern() + " needs a capacity above 0");
+            }
+            long intervalNanos = route.getRefillPeriod().toNanos() / route.getCapacity();
+            if (intervalNanos <= 0) {
+                throw new IllegalArgumentException("Rate limit route " + route.getPattern() + " refills "
+                        + route.getCapacity() + " tokens faster than one per nanosecond, use a longer refill-period");
+            }
+            Set<String> methods = route.getMethods().stream().map(String::toUpperCase).collect(Collectors.toSet());
+            Counter overflowCount = meterRegistry.counter("ecom.rate_limit.overflow", "route", route.getPattern());
+            routes.add(new Route(routes.size(), route.getPattern(), methods, route.getCapacity(), intervalNanos,
+                    route.getKey(), new TokenBucket(route.getCapacity(), intervalNanos, System.nanoTime()), overflowCount));
+        }
+    }
+
+    public Route match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Route route : routes) {
+            if ((route.methods().isEmpty() || route.methods().contains(method)) && pathMatcher.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token for {@code client} on {@code route} and returns 0, or the nanoseconds until one is free.
+     */
+    public long tryAcquire(Route route, String client) {
+        long now = System.nanoTime();
+        String key = route.index() + "|" + client;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !sweepIfDue(now)) {
+                evictOneIdle(now);
+            }
+            if (buckets.size() < maxBuckets) {
+                bucket = buckets.computeIfAbsent(key, k -> route.newBucket(now));
+            } else {
+                route.overflowCount().increment();
+                bucket = route.overflow();
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.ecom.rate-limit.sweep-interval}")
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} left", evicted, buckets.size());
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // at most one caller sweeps per gap, the rest probe for a single idle bucket instead
+    private boolean sweepIfDue(long now) {
+        long due = nextOverflowSweep.get();
+        if (now - due < 0 || !nextOverflowSweep.compareAndSet(due, now + OVERFLOW_SWEEP_GAP_NANOS)) {
+            return false;
+        }
+        if (evictIdle() == 0) {
+            log.warn("Rate limit map is full with {} active buckets, new clients share their route's overflow bucket", buckets.size());
+        }
+        return true;
+    }
+
+    private void evictOneIdle(long now) {
+        int probes = 0;
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isFull(now) && buckets.remove(entry.getKey(), entry.getValue())) {
+                return;
+            }
+            if (++probes == EVICTION_PROBES) {
+                return;
+            }
+        }
+    }
+
+    public record Route(int index, String pattern, Set<String> methods, int capacity, long intervalNanos,
+                        RateLimitProperties.KeyType key, TokenBucket overflow, Counter overflowCount) {
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(capacity, intervalNanos, now);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.dto.CategorySalesDTO;
+import com.ecommerce.project.dto.DailySalesDTO;
+import com.ecommerce.project.dto.ProductSalesDTO;
+import com.ecommerce.project.services.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/admin/analytics/sales/daily")
+    public ResponseEntity<List<DailySalesDTO>> getDailySales(
+            @RequestParam(name = "fromDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.debug("AnalyticsController.getDailySales call started...");
+        List<DailySalesDTO> dailySales = salesAnalyticsService.getDailySales(fromDate, toDate);
+        log.debug("AnalyticsController.getDailySales call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(dailySales);
+    }
+
+    @GetMapping("/admin/analytics/sales/products")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(
+            @RequestParam(name = "fromDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(name = "limit", defaultValue = "10", required = false) Integer limit) {
+        log.debug("AnalyticsController.getTopProducts call started...");
+        List<ProductSalesDTO> topProducts = salesAnalyticsService.getTopProducts(fromDate, toDate, limit);
+        log.debug("AnalyticsController.getTopProducts call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(topProducts);
+    }
+
+    @GetMapping("/admin/analytics/sales/categories")
+    public ResponseEntity<List<CategorySalesDTO>> getCategorySales(
+            @RequestParam(name = "fromDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.debug("AnalyticsController.getCategorySales call started...");
+        List<CategorySalesDTO> categorySales = salesAnalyticsService.getCategorySales(fromDate, toDate);
+        log.debug("AnalyticsController.getCategorySales call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(categorySales);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.dto.CacheRegionStatsDTO;
+import com.ecommerce.project.services.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/admin/cache/regions")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getRegionStats() {
+        log.debug("CacheController.getRegionStats call started...");
+        List<CacheRegionStatsDTO> regionStats = cacheStatsService.getRegionStats();
+        log.debug("CacheController.getRegionStats call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(regionStats);
+    }
+
+    @DeleteMapping("/admin/cache/regions/{region}")
+    public ResponseEntity<String> evictRegion(@PathVariable String region) {
+        log.debug("CacheController.evictRegion call started with region: {}", region);
+        String status = cacheStatsService.evictRegion(region);
+        log.debug("CacheController.evictRegion call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(status);
+    }
+}
@@ -1,8 +1,9 @@
 package com.ecommerce.project.controllers;
 
+import com.ecommerce.project.config.metrics.StatementBudget;
 import com.ecommerce.project.dto.CartDTO;
-import com.ecommerce.project.entities.Cart;
-import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.entities.User;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.services.CartService;
 import com.ecommerce.project.util.AuthUtil;
 import lombok.RequiredArgsConstructor;
@@ -23,7 +24,6 @@ public class CartController {
 
     private final CartService cartService;
     private final AuthUtil authUtil;
-    private final CartRepository cartRepository;
 
 
     @PostMapping("/cart/product/{productId}/quantity/{quantity}")
@@ -46,11 +46,15 @@ public class CartController {
     }
 
     @GetMapping("/carts/user/cart")
+    @StatementBudget(3)
     public ResponseEntity<CartDTO> getCartById() {
         log.debug("CartController.getCartById call started...");
-        String emailId = authUtil.loggedInEmail();
-        Cart cart = cartRepository.findCartByEmail(emailId);
-        CartDTO cartDTO = cartService.getCart(emailId, cart.getCartId());
+        User user = authUtil.loggedInUser();
+        if (user.getCart() == null) {
+            log.debug("CartController.getCartById call failed...");
+            throw new ResourceNotFoundException("Cart not found with email: " + user.getEmail());
+        }
+        CartDTO cartDTO = cartService.getCart(user.getEmail(), user.getCart().getCartId());
         log.debug("CartController.getCartById call completed with cartDTO: {}", cartDTO);
         return ResponseEntity.status(HttpStatus.OK).body(cartDTO);
     }
@@ -1,16 +1,27 @@
 package com.ecommerce.project.controllers;
 
 import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.metrics.StatementBudget;
+import com.ecommerce.project.dto.CatalogFacetResponse;
 import com.ecommerce.project.dto.CategoryDTO;
 import com.ecommerce.project.dto.CategoryResponse;
+import com.ecommerce.project.services.CatalogFacetService;
 import com.ecommerce.project.services.CategoryService;
+import com.ecommerce.project.util.CatalogResponseCache;
+import com.ecommerce.project.util.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 
 @Slf4j
@@ -20,18 +31,56 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogFacetService catalogFacetService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache catalogResponseCache;
 
     @GetMapping("/public/categories")
+    @StatementBudget(2)
     public ResponseEntity<CategoryResponse> getAllCategories(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_CATEGORIES_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder
-    ) {
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         log.debug("CategoryService.getAllCategories call started...");
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (!catalogVersion.isSettled(version)) {
+            // a replica may still be behind this version, so the page goes out without a validator and uncached
+            CategoryResponse unsettled = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
+            log.debug("CategoryService.getAllCategories call completed before the version settled...");
+            return ResponseEntity.status(HttpStatus.OK)
+                    .cacheControl(CacheControl.noStore())
+                    .body(unsettled);
+        }
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            log.debug("CategoryService.getAllCategories call completed with 304...");
+            return null;
+        }
+        if (catalogResponseCache.isHot(pageNumber, pageSize)) {
+            String key = "categories:" + pageNumber + ":" + pageSize + ":" + sortBy + ":" + sortOrder;
+            catalogResponseCache.write(key, version, request, response, () -> categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder));
+            log.debug("CategoryService.getAllCategories call completed from response cache...");
+            return null;
+        }
         CategoryResponse categoryResponse = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
         log.debug("CategoryService.getAllCategories call completed...");
-        return ResponseEntity.status(HttpStatus.OK).body(categoryResponse);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(categoryResponse);
+    }
+
+    @GetMapping("/public/categories/facets")
+    public ResponseEntity<CatalogFacetResponse> getCatalogFacets() {
+        log.debug("CatalogFacetService.getFacets call started...");
+        CatalogFacetResponse facets = catalogFacetService.getFacets();
+        log.debug("CatalogFacetService.getFacets call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(facets);
     }
 
     @PostMapping("/admin/categories")
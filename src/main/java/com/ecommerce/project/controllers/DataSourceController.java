@@ -0,0 +1,31 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.dto.PoolStatsDTO;
+import com.ecommerce.project.services.DataSourceStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class DataSourceController {
+
+    private final DataSourceStatsService dataSourceStatsService;
+
+    @GetMapping("/admin/datasource/pools")
+    public ResponseEntity<List<PoolStatsDTO>> getPoolStats() {
+        log.debug("DataSourceController.getPoolStats call started...");
+        List<PoolStatsDTO> poolStats = dataSourceStatsService.getPoolStats();
+        log.debug("DataSourceController.getPoolStats call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(poolStats);
+    }
+}
@@ -1,16 +1,28 @@
 package com.ecommerce.project.controllers;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.dto.OrderDTO;
+import com.ecommerce.project.dto.OrderHistoryFilterDTO;
+import com.ecommerce.project.dto.OrderHistoryResponse;
 import com.ecommerce.project.dto.OrderRequestDTO;
+import com.ecommerce.project.entities.OrderStatus;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.services.CheckoutAdmissionService;
+import com.ecommerce.project.services.IdempotencyService;
 import com.ecommerce.project.services.OrderService;
 import com.ecommerce.project.util.AuthUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
 
 @Slf4j
 @RestController
@@ -20,13 +32,16 @@ public class OrderController {
 
     private final OrderService orderService;
     private final AuthUtil authUtil;
+    private final IdempotencyService idempotencyService;
+    private final CheckoutAdmissionService checkoutAdmissionService;
 
     @PostMapping("/orders/users/payments/{paymentMethod}")
     public ResponseEntity<OrderDTO> orderProducts(@PathVariable String paymentMethod,
-                                                  @RequestBody OrderRequestDTO orderRequestDTO) {
+                                                  @RequestBody OrderRequestDTO orderRequestDTO,
+                                                  @RequestHeader(name = AppConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         log.debug("OrderController.orderProducts call started with paymentMethod: {} and orderRequestDTO: {}", paymentMethod, orderRequestDTO);
         String emailId = authUtil.loggedInEmail();
-        OrderDTO orderDTO = orderService.placeOrder(
+        Supplier<OrderDTO> placeOrder = () -> checkoutAdmissionService.admit(emailId, () -> orderService.placeOrder(
                 emailId,
                 orderRequestDTO.getAddressId(),
                 paymentMethod,
@@ -34,8 +49,60 @@ public class OrderController {
                 orderRequestDTO.getPgPaymentId(),
                 orderRequestDTO.getPgStatus(),
                 orderRequestDTO.getPgResponseMessage()
-        );
-        log.debug("OrderController.orderProducts call completed with: {}", orderDTO);
+        ));
+        if (idempotencyKey == null) {
+            OrderDTO orderDTO = placeOrder.get();
+            log.debug("OrderController.orderProducts call completed with: {}", orderDTO);
+            return ResponseEntity.status(HttpStatus.OK).body(orderDTO);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > AppConstants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            log.debug("OrderController.orderProducts call failed with invalid idempotency key");
+            throw new APIException(AppConstants.IDEMPOTENCY_KEY_HEADER + " must be 1-" + AppConstants.IDEMPOTENCY_KEY_MAX_LENGTH + " characters");
+        }
+        IdempotencyService.Outcome<OrderDTO> outcome = idempotencyService.execute(
+                emailId + ":" + idempotencyKey,
+                List.of(paymentMethod, orderRequestDTO),
+                placeOrder);
+        log.debug("OrderController.orderProducts call completed with: {}", outcome.value());
+        return ResponseEntity.status(HttpStatus.OK)
+                .header(AppConstants.IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(outcome.value());
+    }
+
+    @GetMapping("/orders/users")
+    public ResponseEntity<OrderHistoryResponse> getUserOrders(
+            @RequestParam(name = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(name = "status", required = false) OrderStatus status,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        log.debug("OrderController.getUserOrders call started...");
+        OrderHistoryFilterDTO filter = new OrderHistoryFilterDTO(authUtil.loggedInEmail(), fromDate, toDate, status);
+        OrderHistoryResponse orderHistoryResponse = orderService.getOrderHistory(filter, cursor, pageSize);
+        log.debug("OrderController.getUserOrders call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(orderHistoryResponse);
+    }
+
+    @GetMapping("/admin/orders")
+    public ResponseEntity<OrderHistoryResponse> getAllOrders(
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(name = "status", required = false) OrderStatus status,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        log.debug("OrderController.getAllOrders call started...");
+        OrderHistoryFilterDTO filter = new OrderHistoryFilterDTO(email, fromDate, toDate, status);
+        OrderHistoryResponse orderHistoryResponse = orderService.getOrderHistory(filter, cursor, pageSize);
+        log.debug("OrderController.getAllOrders call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(orderHistoryResponse);
+    }
+
+    @PutMapping("/admin/orders/{orderId}/status/{status}")
+    public ResponseEntity<OrderDTO> updateOrderStatus(@PathVariable Long orderId, @PathVariable OrderStatus status) {
+        log.debug("OrderController.updateOrderStatus call started with orderId: {} and status: {}", orderId, status);
+        OrderDTO orderDTO = orderService.updateOrderStatus(orderId, status);
+        log.debug("OrderController.updateOrderStatus call completed with: {}", orderDTO);
         return ResponseEntity.status(HttpStatus.OK).body(orderDTO);
     }
 
@@ -1,19 +1,30 @@
 package com.ecommerce.project.controllers;
 
 import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.metrics.StatementBudget;
 import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.ProductFilterDTO;
 import com.ecommerce.project.dto.ProductResponse;
+import com.ecommerce.project.dto.TrendingProductDTO;
 import com.ecommerce.project.services.ProductService;
+import com.ecommerce.project.services.TrendingService;
+import com.ecommerce.project.util.CatalogResponseCache;
+import com.ecommerce.project.util.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -22,6 +33,9 @@ import java.io.IOException;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache catalogResponseCache;
+    private final TrendingService trendingService;
 
     @PostMapping("/admin/categories/{categoryId}/product")
     public ResponseEntity<ProductDTO> addProduct(@Valid @RequestBody ProductDTO productDTO, @PathVariable Long categoryId) {
@@ -32,32 +46,79 @@ public class ProductController {
     }
 
     @GetMapping("/public/products")
+    @StatementBudget(2)
     public ResponseEntity<ProductResponse> getAllProducts(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder
-    ) {
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         log.debug("ProductController.getAllProducts call started...");
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (!catalogVersion.isSettled(version)) {
+            // a replica may still be behind this version, so the page goes out without a validator and uncached
+            ProductResponse unsettled = productService.getAllProduct(pageNumber, pageSize, sortBy, sortOrder);
+            log.debug("ProductController.getAllProducts call completed before the version settled...");
+            return ResponseEntity.status(HttpStatus.OK)
+                    .cacheControl(CacheControl.noStore())
+                    .body(unsettled);
+        }
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            log.debug("ProductController.getAllProducts call completed with 304...");
+            return null;
+        }
+        if (catalogResponseCache.isHot(pageNumber, pageSize)) {
+            String key = "products:" + pageNumber + ":" + pageSize + ":" + sortBy + ":" + sortOrder;
+            catalogResponseCache.write(key, version, request, response, () -> productService.getAllProduct(pageNumber, pageSize, sortBy, sortOrder));
+            log.debug("ProductController.getAllProducts call completed from response cache...");
+            return null;
+        }
         ProductResponse productResponse = productService.getAllProduct(pageNumber, pageSize, sortBy, sortOrder);
         log.debug("ProductController.getAllProducts call completed...");
-        return ResponseEntity.status(HttpStatus.OK).body(productResponse);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(productResponse);
     }
 
     @GetMapping("/public/{categoryId}/products")
+    @StatementBudget(3)
     public ResponseEntity<ProductResponse> getProductByCategory(
             @PathVariable Long categoryId,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest) {
         log.debug("ProductController.getProductByCategory call started...");
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (!catalogVersion.isSettled(version)) {
+            // a replica may still be behind this version, so the page goes out without a validator and uncached
+            ProductResponse unsettled = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+            log.debug("ProductController.getProductByCategory call completed before the version settled...");
+            return ResponseEntity.status(HttpStatus.OK)
+                    .cacheControl(CacheControl.noStore())
+                    .body(unsettled);
+        }
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            log.debug("ProductController.getProductByCategory call completed with 304...");
+            return null;
+        }
         ProductResponse productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
         log.debug("ProductController.getProductByCategory call completed...");
-        return ResponseEntity.status(HttpStatus.OK).body(productResponse);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(productResponse);
     }
 
     @GetMapping("/public/products/keyword/{keyword}")
+    @StatementBudget(2)
     public ResponseEntity<ProductResponse> getProductByKeyword(
             @PathVariable String keyword,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
@@ -70,6 +131,43 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.FOUND).body(productResponse);
     }
 
+    @GetMapping("/public/products/filter")
+    @StatementBudget(2)
+    public ResponseEntity<ProductResponse> filterProducts(
+            @RequestParam(name = "categoryIds", required = false) List<Long> categoryIds,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(name = "minDiscount", required = false) Double minDiscount,
+            @RequestParam(name = "inStockOnly", defaultValue = "false", required = false) boolean inStockOnly,
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCT_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        log.debug("ProductController.filterProducts call started...");
+        ProductFilterDTO filter = new ProductFilterDTO(categoryIds, minPrice, maxPrice, minDiscount, inStockOnly);
+        ProductResponse productResponse = productService.filterProducts(filter, pageNumber, pageSize, sortBy, sortOrder);
+        log.debug("ProductController.filterProducts call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(productResponse);
+    }
+
+    @GetMapping("/public/products/best-sellers")
+    public ResponseEntity<List<TrendingProductDTO>> getBestSellers(
+            @RequestParam(name = "limit", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer limit) {
+        log.debug("ProductController.getBestSellers call started...");
+        List<TrendingProductDTO> bestSellers = trendingService.getBestSellers(limit);
+        log.debug("ProductController.getBestSellers call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(bestSellers);
+    }
+
+    @GetMapping("/public/products/trending")
+    public ResponseEntity<List<TrendingProductDTO>> getTrending(
+            @RequestParam(name = "limit", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer limit) {
+        log.debug("ProductController.getTrending call started...");
+        List<TrendingProductDTO> trending = trendingService.getTrending(limit);
+        log.debug("ProductController.getTrending call completed...");
+        return ResponseEntity.status(HttpStatus.OK).body(trending);
+    }
+
     @PutMapping("/admin/products/{productId}")
     public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long productId, @Valid @RequestBody ProductDTO productDTO) {
         log.debug("ProductController.updateProduct call started...");
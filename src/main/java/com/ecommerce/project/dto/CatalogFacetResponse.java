@@ -0,0 +1,15 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogFacetResponse {
+    private List<CategoryFacetDTO> categories;
+    private List<PriceBucketFacetDTO> priceBuckets;
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacetDTO {
+    private Long categoryId;
+    private String categoryName;
+    private long totalProducts;
+    private long inStockProducts;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategorySalesDTO {
+    private Long categoryId;
+    private String categoryName;
+    private long units;
+    private double revenue;
+    private long orderCount;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySalesDTO {
+    private LocalDate salesDate;
+    private long units;
+    private double revenue;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointConnectionStatsDTO {
+    private String endpoint;
+    private long acquisitions;
+    private long acquireFailures;
+    private long acquireMeanMicros;
+    private long acquireP99Micros;
+    private long acquireMaxMicros;
+    private long holdMeanMicros;
+    private long holdP99Micros;
+    private long holdMaxMicros;
+    private long longHolds;
+}
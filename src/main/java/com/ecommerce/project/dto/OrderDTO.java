@@ -1,5 +1,6 @@
 package com.ecommerce.project.dto;
 
+import com.ecommerce.project.entities.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +18,6 @@ public class OrderDTO {
     private LocalDate orderDate;
     private PaymentDTO payment;
     private Double totalAmount;
-    private String orderStatus;
+    private OrderStatus orderStatus;
     private Long addressId;
 }
@@ -0,0 +1,18 @@
+package com.ecommerce.project.dto;
+
+import com.ecommerce.project.entities.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryFilterDTO {
+    private String email;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private OrderStatus orderStatus;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryResponse {
+    private List<OrderDTO> contents;
+    private Integer pageSize;
+    private boolean lastPage;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.project.dto;
 
+import com.ecommerce.project.entities.PaymentStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,7 @@ public class PaymentDTO {
     private String paymentMethod;
     private String pgPaymentId;
     private String pgStatus;
+    private PaymentStatus paymentStatus;
     private String psResponseMessage;
     private String pgName;
 }
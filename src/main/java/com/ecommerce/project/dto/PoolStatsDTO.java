@@ -0,0 +1,20 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PoolStatsDTO {
+    private String poolName;
+    private int activeConnections;
+    private int idleConnections;
+    private int threadsAwaitingConnection;
+    private int maximumPoolSize;
+    private List<EndpointConnectionStatsDTO> endpoints = new ArrayList<>();
+}
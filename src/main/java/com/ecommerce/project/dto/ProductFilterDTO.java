@@ -0,0 +1,18 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDTO {
+    private List<Long> categoryIds;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minDiscount;
+    private boolean inStockOnly;
+}
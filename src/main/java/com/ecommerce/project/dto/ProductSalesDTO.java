@@ -0,0 +1,16 @@
+package com.ecommerce.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSalesDTO {
+    private Long productId;
+    private String productName;
+    private long units;
+    private double revenue;
+    private long orderCount;
+}
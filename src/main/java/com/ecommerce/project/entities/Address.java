@@ -1,5 +1,6 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -16,7 +17,15 @@ import lombok.ToString;
 public class Address {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "address_id_generator")
+    @TableGenerator(
+            name = "address_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "addresses",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long addressId;
 
     @NotBlank
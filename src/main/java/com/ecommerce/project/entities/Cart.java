@@ -1,5 +1,6 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,7 +18,15 @@ import java.util.List;
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_id_generator")
+    @TableGenerator(
+            name = "cart_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "carts",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long cartId;
 
     @ToString.Exclude
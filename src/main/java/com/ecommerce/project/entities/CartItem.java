@@ -1,5 +1,6 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +15,15 @@ import lombok.ToString;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_item_id_generator")
+    @TableGenerator(
+            name = "cart_item_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "cart_items",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long cartItemId;
 
     @ToString.Exclude
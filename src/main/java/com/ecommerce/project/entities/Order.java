@@ -1,12 +1,19 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,13 +25,23 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(
+            name = "order_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "orders",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long orderId;
 
     @Email
     @Column(nullable = false)
     private String email;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "order", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<OrderItem> orderItems = new ArrayList<>();
 
@@ -35,9 +52,24 @@ public class Order {
     private Payment payment;
 
     private Double totalAmount;
-    private String orderStatus;
 
-    @ManyToOne
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(nullable = false, length = 1)
+    private OrderStatus orderStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime statusUpdatedAt;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
+
+    public void transitionTo(OrderStatus next) {
+        if (!orderStatus.canTransitionTo(next)) {
+            throw new APIException("Order " + orderId + " cannot move from " + orderStatus + " to " + next);
+        }
+        orderStatus = next;
+        statusUpdatedAt = LocalDateTime.now();
+    }
 }
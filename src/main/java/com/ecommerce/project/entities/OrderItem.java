@@ -1,8 +1,10 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
@@ -14,7 +16,15 @@ import lombok.ToString;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id_generator")
+    @TableGenerator(
+            name = "order_item_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "order_item",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long orderItemId;
 
     @ToString.Exclude
@@ -23,6 +33,7 @@ public class OrderItem {
     private Product product;
 
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "order_id")
     private Order order;
@@ -0,0 +1,49 @@
+package com.ecommerce.project.entities;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum OrderStatus {
+    PENDING("P"),
+    CONFIRMED("C"),
+    PAYMENT_FAILED("F"),
+    SHIPPED("S"),
+    DELIVERED("D"),
+    CANCELLED("X");
+
+    private final String code;
+
+    OrderStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return allowedNext().contains(next);
+    }
+
+    public boolean releasesStock() {
+        return this == PAYMENT_FAILED || this == CANCELLED;
+    }
+
+    private Set<OrderStatus> allowedNext() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(CONFIRMED, PAYMENT_FAILED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case PAYMENT_FAILED, DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public static OrderStatus fromCode(String code) {
+        for (OrderStatus status : values()) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
+}
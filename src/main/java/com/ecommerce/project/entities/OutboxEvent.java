@@ -0,0 +1,61 @@
+package com.ecommerce.project.entities;
+
+import com.ecommerce.project.config.AppConstants;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_event_id_generator")
+    @TableGenerator(
+            name = "outbox_event_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "outbox_events",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
+    private Long outboxEventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public OutboxEvent(OutboxEventType eventType, Long aggregateId, LocalDateTime now) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.status = OutboxStatus.PENDING;
+        this.availableAt = now;
+        this.createdAt = now;
+    }
+}
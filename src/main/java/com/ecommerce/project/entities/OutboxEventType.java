@@ -0,0 +1,6 @@
+package com.ecommerce.project.entities;
+
+public enum OutboxEventType {
+    PAYMENT_CONFIRMATION,
+    ORDER_NOTIFICATION
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.project.entities;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
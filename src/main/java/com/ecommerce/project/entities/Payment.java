@@ -1,11 +1,17 @@
 package com.ecommerce.project.entities;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "payment")
@@ -15,9 +21,19 @@ import lombok.NoArgsConstructor;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_id_generator")
+    @TableGenerator(
+            name = "payment_id_generator",
+            table = "id_generators",
+            pkColumnName = "gen_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "payment",
+            allocationSize = AppConstants.ID_ALLOCATION_SIZE
+    )
     private Long paymentId;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToOne(mappedBy = "payment", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private Order order;
 
@@ -27,7 +43,26 @@ public class Payment {
 
     private String pgPaymentId;
     private String pgStatus;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(nullable = false, length = 1)
+    private PaymentStatus paymentStatus;
+
     private String pgResponseMessage;
     private String pgName;
 
+    public void transitionTo(PaymentStatus next) {
+        if (!paymentStatus.canTransitionTo(next)) {
+            throw new APIException("Payment " + paymentId + " cannot move from " + paymentStatus + " to " + next);
+        }
+        paymentStatus = next;
+    }
+
+    public void release() {
+        if (paymentStatus == PaymentStatus.SUCCEEDED) {
+            transitionTo(PaymentStatus.REFUNDED);
+        } else if (paymentStatus == PaymentStatus.PENDING) {
+            transitionTo(PaymentStatus.FAILED);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.ecommerce.project.entities;
+
+import java.util.Locale;
+import java.util.Set;
+
+public enum PaymentStatus {
+    PENDING("P"),
+    SUCCEEDED("S"),
+    FAILED("F"),
+    REFUNDED("R");
+
+    // exact gateway statuses, matched case-insensitively; keep in sync with V7__order_payment_status_codes.sql
+    private static final Set<String> GATEWAY_SUCCEEDED = Set.of("succeeded", "success", "successful", "paid", "captured", "completed");
+    private static final Set<String> GATEWAY_FAILED = Set.of("failed", "failure", "declined", "denied", "rejected", "canceled", "cancelled");
+
+    private final String code;
+
+    PaymentStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean canTransitionTo(PaymentStatus next) {
+        return switch (this) {
+            case PENDING -> next == SUCCEEDED || next == FAILED;
+            case SUCCEEDED -> next == REFUNDED;
+            case FAILED, REFUNDED -> false;
+        };
+    }
+
+    public static PaymentStatus fromGateway(String pgStatus) {
+        if (pgStatus == null) {
+            return PENDING;
+        }
+        String status = pgStatus.trim().toLowerCase(Locale.ROOT);
+        if (GATEWAY_FAILED.contains(status)) {
+            return FAILED;
+        }
+        if (GATEWAY_SUCCEEDED.contains(status)) {
+            return SUCCEEDED;
+        }
+        // anything else, e.g. "unpaid" or "incomplete", waits for the payment confirmation
+        return PENDING;
+    }
+
+    public static PaymentStatus fromCode(String code) {
+        for (PaymentStatus status : values()) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payment status code: " + code);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.project.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesDailyCategoryId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate salesDate;
+    private Long categoryId;
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.project.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "sales_daily_product")
+@IdClass(SalesDailyProductId.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesDailyProduct {
+
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private Long productId;
+
+    private long units;
+    private double revenue;
+    private long orderCount;
+}
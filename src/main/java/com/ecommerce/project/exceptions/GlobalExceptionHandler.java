@@ -1,6 +1,10 @@
 package com.ecommerce.project.exceptions;
 
 import com.ecommerce.project.dto.APIResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,26 +16,54 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> methodArgumentNotValidException(MethodArgumentNotValidException exception) {
         Map<String, String> response = new HashMap<>();
         exception.getBindingResult().getAllErrors().forEach((error) -> {
             response.put(((FieldError) error).getField(), error.getDefaultMessage());
         });
+        countException(exception, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
     @ExceptionHandler(APIException.class)
     public ResponseEntity<APIResponse> apiException(APIException exception) {
         APIResponse apiResponse = new APIResponse(exception.getMessage(), false);
+        countException(exception, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiResponse);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<APIResponse> apiException(ResourceNotFoundException exception) {
         APIResponse apiResponse = new APIResponse(exception.getMessage(), false);
+        countException(exception, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiResponse);
     }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<APIResponse> idempotencyKeyMismatchException(IdempotencyKeyMismatchException exception) {
+        APIResponse apiResponse = new APIResponse(exception.getMessage(), false);
+        countException(exception, HttpStatus.UNPROCESSABLE_ENTITY);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(apiResponse);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<APIResponse> serviceOverloadedException(ServiceOverloadedException exception) {
+        APIResponse apiResponse = new APIResponse(exception.getMessage(), false);
+        countException(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(apiResponse);
+    }
+
+    private void countException(Exception exception, HttpStatus status) {
+        meterRegistry.counter("ecom.exceptions",
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.project.exceptions;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.project.exceptions;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -6,12 +6,17 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     @Query("SELECT ci FROM CartItem ci WHERE ci.cart.cartId = ?1 AND ci.product.productId = ?2")
     CartItem findCartItemByProductIdAndCartId(Long cartId, Long productId);
 
+    @Query("SELECT ci.product.productId FROM CartItem ci WHERE ci.cart.user.email = ?1")
+    List<Long> findProductIdsByCartEmail(String email);
+
 
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = ?1 AND ci.product.productId = ?2")
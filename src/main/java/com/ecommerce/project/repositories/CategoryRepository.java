@@ -1,11 +1,28 @@
 package com.ecommerce.project.repositories;
 
+import com.ecommerce.project.dto.CategoryFacetDTO;
 import com.ecommerce.project.entities.Category;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     Category findByCategoryName(@NotBlank(message = "Category name must not be null") String categoryName);
+
+    // in-stock counts read the last flushed stock ledger quantities
+    @Query("SELECT new com.ecommerce.project.dto.CategoryFacetDTO(c.categoryId, c.categoryName, COUNT(p), " +
+            "COALESCE(SUM(CASE WHEN p.quantity > 0 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Category c LEFT JOIN c.products p GROUP BY c.categoryId, c.categoryName")
+    List<CategoryFacetDTO> countProductsPerCategory();
 }
@@ -0,0 +1,10 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.entities.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface OrderHistoryRepository {
+    List<Long> findOrderIdsNewestFirst(Specification<Order> specification, int limit);
+}
@@ -1,9 +1,31 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderHistoryRepository {
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product " +
+            "LEFT JOIN FETCH o.payment WHERE o.orderId IN ?1")
+    List<Order> findWithItemsAndPaymentByOrderIdIn(Collection<Long> orderIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderId = ?1")
+    Optional<Order> findByIdForUpdate(Long orderId);
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderStatus = ?1 AND o.statusUpdatedAt < ?2 " +
+            "ORDER BY o.statusUpdatedAt, o.orderId")
+    List<Long> findOrderIdsByStatusUpdatedBefore(OrderStatus orderStatus, LocalDateTime updatedBefore, Pageable pageable);
 }
@@ -0,0 +1,47 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.OrderHistoryFilterDTO;
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(OrderHistoryFilterDTO filter) {
+        return Specification.allOf(
+                hasEmail(filter.getEmail()),
+                placedOnOrAfter(filter.getFromDate()),
+                placedOnOrBefore(filter.getToDate()),
+                hasStatus(filter.getOrderStatus()));
+    }
+
+    public static Specification<Order> hasEmail(String email) {
+        return email == null ? null : (root, query, cb) -> cb.equal(root.get("email"), email);
+    }
+
+    public static Specification<Order> placedOnOrAfter(LocalDate fromDate) {
+        return fromDate == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderDate"), fromDate);
+    }
+
+    public static Specification<Order> placedOnOrBefore(LocalDate toDate) {
+        return toDate == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("orderDate"), toDate);
+    }
+
+    public static Specification<Order> hasStatus(OrderStatus orderStatus) {
+        return orderStatus == null ? null : (root, query, cb) -> cb.equal(root.get("orderStatus"), orderStatus);
+    }
+
+    public static Specification<Order> before(LocalDate orderDate, Long orderId) {
+        if (orderDate == null || orderId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("orderDate"), orderDate),
+                cb.and(cb.equal(root.get("orderDate"), orderDate), cb.lessThan(root.get("orderId"), orderId)));
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.entities.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductFilterRepository {
+    Page<ProductDTO> findProductDTOs(Specification<Product> specification, Pageable pageable);
+}
@@ -1,15 +1,38 @@
 package com.ecommerce.project.repositories;
 
-import com.ecommerce.project.entities.Category;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.ProductStockDTO;
 import com.ecommerce.project.entities.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageable);
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFilterRepository, ProductStockRepository {
+    @Query(value = "SELECT new com.ecommerce.project.dto.ProductDTO(p.productId, p.productName, p.description, p.image, p.quantity, p.price, p.discount, p.specialPrice) " +
+            "FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDTO> findAllProductDTOs(Pageable pageable);
+
+    @Query(value = "SELECT new com.ecommerce.project.dto.ProductDTO(p.productId, p.productName, p.description, p.image, p.quantity, p.price, p.discount, p.specialPrice) " +
+            "FROM Product p WHERE p.category.categoryId = ?1",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.categoryId = ?1")
+    Page<ProductDTO> findProductDTOsByCategoryId(Long categoryId, Pageable pageable);
+
+    @Query(value = "SELECT new com.ecommerce.project.dto.ProductDTO(p.productId, p.productName, p.description, p.image, p.quantity, p.price, p.discount, p.specialPrice) " +
+            "FROM Product p WHERE UPPER(p.productName) LIKE UPPER(?1)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE UPPER(p.productName) LIKE UPPER(?1)")
+    Page<ProductDTO> findProductDTOsByProductNameLike(String keyword, Pageable pageable);
+
+    @Query("SELECT new com.ecommerce.project.dto.ProductStockDTO(p.productId, p.quantity) FROM Product p")
+    List<ProductStockDTO> findAllProductStock();
+
+    long countBySpecialPriceGreaterThanEqualAndSpecialPriceLessThan(double minPrice, double maxPrice);
 
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+    // quantity here is the last flushed stock ledger value, not live availability
+    long countBySpecialPriceGreaterThanEqualAndSpecialPriceLessThanAndQuantityGreaterThan(double minPrice, double maxPrice, Integer quantity);
 }
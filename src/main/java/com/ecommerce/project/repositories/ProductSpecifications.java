@@ -0,0 +1,47 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.ProductFilterDTO;
+import com.ecommerce.project.entities.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilterDTO filter) {
+        // range predicates go ahead of the category IN list: H2 only walks the IN list on
+        // idx_products_category_special_price when it sees the range conditions first
+        return Specification.allOf(
+                specialPriceAtLeast(filter.getMinPrice()),
+                specialPriceAtMost(filter.getMaxPrice()),
+                inCategories(filter.getCategoryIds()),
+                discountAtLeast(filter.getMinDiscount()),
+                filter.isInStockOnly() ? inStock() : null);
+    }
+
+    public static Specification<Product> inCategories(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("category").get("categoryId").in(categoryIds);
+    }
+
+    public static Specification<Product> specialPriceAtLeast(Double minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.ge(root.get("specialPrice"), minPrice);
+    }
+
+    public static Specification<Product> specialPriceAtMost(Double maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.le(root.get("specialPrice"), maxPrice);
+    }
+
+    public static Specification<Product> discountAtLeast(Double minDiscount) {
+        return minDiscount == null ? null : (root, query, cb) -> cb.ge(root.get("discount"), minDiscount);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.gt(root.get("quantity"), 0);
+    }
+}
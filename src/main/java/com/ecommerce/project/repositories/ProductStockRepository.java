@@ -0,0 +1,5 @@
+package com.ecommerce.project.repositories;
+
+public interface ProductStockRepository {
+    void writeQuantities(long[] productIds, int[] quantities, int count);
+}
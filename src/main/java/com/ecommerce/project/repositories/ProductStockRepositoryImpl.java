@@ -0,0 +1,31 @@
+package com.ecommerce.project.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // absolute quantities from the stock ledger, sent as one JDBC batch
+    @Override
+    @Transactional
+    public void writeQuantities(long[] productIds, int[] quantities, int count) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE products SET quantity = ? WHERE product_id = ?")) {
+                for (int i = 0; i < count; i++) {
+                    statement.setInt(1, quantities[i]);
+                    statement.setLong(2, productIds[i]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
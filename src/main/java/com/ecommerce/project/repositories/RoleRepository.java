@@ -2,10 +2,17 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.entities.AppRole;
 import com.ecommerce.project.entities.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     Optional<Role> findByRoleName(AppRole appRole);
 }
@@ -0,0 +1,32 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.CategorySalesDTO;
+import com.ecommerce.project.dto.DailySalesDTO;
+import com.ecommerce.project.entities.SalesDailyCategory;
+import com.ecommerce.project.entities.SalesDailyCategoryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyCategoryRepository extends JpaRepository<SalesDailyCategory, SalesDailyCategoryId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_category (sales_date, category_id, units, revenue, order_count) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5) ON DUPLICATE KEY UPDATE units = units + VALUES(units), " +
+            "revenue = revenue + VALUES(revenue), order_count = order_count + VALUES(order_count)", nativeQuery = true)
+    void increment(LocalDate salesDate, Long categoryId, long units, double revenue, long orderCount);
+
+    @Query("SELECT new com.ecommerce.project.dto.CategorySalesDTO(s.categoryId, c.categoryName, SUM(s.units), " +
+            "SUM(s.revenue), SUM(s.orderCount)) FROM SalesDailyCategory s LEFT JOIN Category c ON c.categoryId = s.categoryId " +
+            "WHERE s.salesDate BETWEEN ?1 AND ?2 GROUP BY s.categoryId, c.categoryName ORDER BY SUM(s.revenue) DESC")
+    List<CategorySalesDTO> findCategorySales(LocalDate fromDate, LocalDate toDate);
+
+    @Query("SELECT new com.ecommerce.project.dto.DailySalesDTO(s.salesDate, SUM(s.units), SUM(s.revenue)) " +
+            "FROM SalesDailyCategory s WHERE s.salesDate BETWEEN ?1 AND ?2 GROUP BY s.salesDate ORDER BY s.salesDate")
+    List<DailySalesDTO> findDailySales(LocalDate fromDate, LocalDate toDate);
+}
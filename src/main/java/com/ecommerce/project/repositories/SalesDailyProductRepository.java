@@ -0,0 +1,28 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.ProductSalesDTO;
+import com.ecommerce.project.entities.SalesDailyProduct;
+import com.ecommerce.project.entities.SalesDailyProductId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyProductRepository extends JpaRepository<SalesDailyProduct, SalesDailyProductId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_product (sales_date, product_id, units, revenue, order_count) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5) ON DUPLICATE KEY UPDATE units = units + VALUES(units), " +
+            "revenue = revenue + VALUES(revenue), order_count = order_count + VALUES(order_count)", nativeQuery = true)
+    void increment(LocalDate salesDate, Long productId, long units, double revenue, long orderCount);
+
+    @Query("SELECT new com.ecommerce.project.dto.ProductSalesDTO(s.productId, p.productName, SUM(s.units), " +
+            "SUM(s.revenue), SUM(s.orderCount)) FROM SalesDailyProduct s LEFT JOIN Product p ON p.productId = s.productId " +
+            "WHERE s.salesDate BETWEEN ?1 AND ?2 GROUP BY s.productId, p.productName ORDER BY SUM(s.revenue) DESC")
+    List<ProductSalesDTO> findTopProducts(LocalDate fromDate, LocalDate toDate, Pageable pageable);
+}
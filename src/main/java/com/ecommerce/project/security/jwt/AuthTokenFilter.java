@@ -50,13 +50,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
-            filterChain.doFilter(request, response);
         } catch (Exception e) {
             e.printStackTrace();
             log.error("Cannot set user authentication: {}", e.getMessage());
         }
-
-
+        filterChain.doFilter(request, response);
     }
 
     private String parseJwt(HttpServletRequest request) {
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @AllArgsConstructor
@@ -12,5 +13,6 @@ public class LoginRequest {
     @NotBlank
     private String username;
     @NotBlank
+    @ToString.Exclude
     private String password;
 }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -20,6 +21,7 @@ public class SignupRequest {
     private String username;
     @NotBlank
     @Size(min = 6, max = 40)
+    @ToString.Exclude
     private String password;
     @NotBlank
     @Size(max = 50)
@@ -0,0 +1,11 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CacheRegionStatsDTO;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheRegionStatsDTO> getRegionStats();
+
+    String evictRegion(String region);
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.entities.Product;
+
+public interface CartHoldService {
+    boolean hold(Long cartId, Product product, int quantity);
+
+    void release(Long cartId, Long productId, int quantity);
+
+    int consume(Long cartId, Product product, int quantity);
+
+    int expireHolds();
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CatalogFacetResponse;
+import com.ecommerce.project.entities.Product;
+
+public interface CatalogFacetService {
+    CatalogFacetResponse getFacets();
+
+    void productChanged(ProductState before, ProductState after);
+
+    void categorySaved(Long categoryId, String categoryName);
+
+    void categoryDeleted(Long categoryId);
+
+    void reconcile();
+
+    record ProductState(Long categoryId, double specialPrice, int quantity) {
+        public static ProductState of(Product product) {
+            Long categoryId = product.getCategory() == null ? null : product.getCategory().getCategoryId();
+            int quantity = product.getQuantity() == null ? 0 : product.getQuantity();
+            return new ProductState(categoryId, product.getSpecialPrice(), quantity);
+        }
+
+        public ProductState withQuantity(int quantity) {
+            return new ProductState(categoryId, specialPrice, quantity);
+        }
+    }
+}
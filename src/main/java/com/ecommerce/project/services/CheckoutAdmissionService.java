@@ -0,0 +1,9 @@
+package com.ecommerce.project.services;
+
+import java.util.function.Supplier;
+
+public interface CheckoutAdmissionService {
+    <T> T admit(String emailId, Supplier<T> checkout);
+
+    int evictIdle();
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.PoolStatsDTO;
+
+import java.util.List;
+
+public interface DataSourceStatsService {
+    List<PoolStatsDTO> getPoolStats();
+}
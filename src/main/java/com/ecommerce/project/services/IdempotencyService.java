@@ -0,0 +1,10 @@
+package com.ecommerce.project.services;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> Outcome<T> execute(String key, Object request, Supplier<T> action);
+
+    record Outcome<T>(T value, boolean replayed) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.project.services;
+
+public interface OrderEventHandler {
+    void confirmPayment(Long orderId);
+
+    void expirePendingOrder(Long orderId);
+
+    void notifyCustomer(Long orderId);
+}
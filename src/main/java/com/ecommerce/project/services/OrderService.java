@@ -1,7 +1,16 @@
 package com.ecommerce.project.services;
 
 import com.ecommerce.project.dto.OrderDTO;
+import com.ecommerce.project.dto.OrderHistoryFilterDTO;
+import com.ecommerce.project.dto.OrderHistoryResponse;
+import com.ecommerce.project.entities.OrderStatus;
 
 public interface OrderService {
     OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage);
+
+    OrderHistoryResponse getOrderHistory(OrderHistoryFilterDTO filter, String cursor, Integer pageSize);
+
+    OrderDTO updateOrderStatus(Long orderId, OrderStatus status);
+
+    int expireStalePendingOrders();
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.entities.OutboxEventType;
+
+public interface OutboxService {
+    void enqueue(OutboxEventType eventType, Long aggregateId);
+
+    int drainBatch();
+}
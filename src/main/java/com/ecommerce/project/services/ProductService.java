@@ -1,10 +1,13 @@
 package com.ecommerce.project.services;
 
 import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.ProductFilterDTO;
 import com.ecommerce.project.dto.ProductResponse;
+import com.ecommerce.project.entities.OrderItem;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface ProductService {
     ProductDTO addProduct(Long categoryId, ProductDTO productDTO);
@@ -15,9 +18,13 @@ public interface ProductService {
 
     ProductResponse searchProductByKeyword(String s, Integer pageNumber, Integer pageSize, String sortBy, String keyword);
 
+    ProductResponse filterProducts(ProductFilterDTO filter, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+
     ProductDTO updateProduct(Long productId, ProductDTO productDTO);
 
     ProductDTO deleteProduct(Long productId);
 
     ProductDTO updateProductImage(Long productId, MultipartFile image) throws IOException;
+
+    void restockOrderItems(List<OrderItem> orderItems);
 }
@@ -0,0 +1,21 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CategorySalesDTO;
+import com.ecommerce.project.dto.DailySalesDTO;
+import com.ecommerce.project.dto.ProductSalesDTO;
+import com.ecommerce.project.entities.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+    void orderPlaced(Order order);
+
+    void orderReleased(Order order);
+
+    List<DailySalesDTO> getDailySales(LocalDate fromDate, LocalDate toDate);
+
+    List<ProductSalesDTO> getTopProducts(LocalDate fromDate, LocalDate toDate, Integer limit);
+
+    List<CategorySalesDTO> getCategorySales(LocalDate fromDate, LocalDate toDate);
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.entities.Product;
+
+public interface StockLedgerService {
+    int available(Product product);
+
+    int reserve(Product product, int quantity);
+
+    int release(Product product, int quantity);
+
+    int hold(Product product, int quantity);
+
+    void releaseHold(Long productId, int quantity);
+
+    int consumeHold(Product product, int quantity);
+
+    void productSaved(Long productId, Integer quantity);
+
+    void productDeleted(Long productId);
+
+    int flush();
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.TrendingProductDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TrendingService {
+    void orderPlaced(Map<Long, Integer> unitsByProduct);
+
+    void productAddedToCart(Long productId);
+
+    List<TrendingProductDTO> getBestSellers(Integer limit);
+
+    List<TrendingProductDTO> getTrending(Integer limit);
+
+    void checkpoint();
+}
@@ -12,11 +12,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class AddressServiceImpl implements AddressService {
 
@@ -26,6 +28,7 @@ public class AddressServiceImpl implements AddressService {
 
 
     @Override
+    @Transactional
     public AddressDTO createAddress(AddressDTO addressDTO, User user) {
         log.debug("AddressServiceImpl.createAddress call started.");
         Address address = modelMapper.map(addressDTO, Address.class);
@@ -80,6 +83,7 @@ public class AddressServiceImpl implements AddressService {
     }
 
     @Override
+    @Transactional
     public AddressDTO updateAddress(Long addressId, AddressDTO addressDTO) {
         log.debug("AddressServiceImpl.updateAddressById call started with addressId: {} and address: {}", addressId, addressDTO);
         Address address = addressRepository.findById(addressId)
@@ -106,6 +110,7 @@ public class AddressServiceImpl implements AddressService {
     }
 
     @Override
+    @Transactional
     public String deleteAddress(Long addressId) {
         log.debug("AddressServiceImpl.deleteAddressById call started with addressId: {}", addressId);
         Address address = addressRepository.findById(addressId)
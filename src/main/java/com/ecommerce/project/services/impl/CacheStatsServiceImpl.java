@@ -0,0 +1,68 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.dto.CacheRegionStatsDTO;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.services.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        log.debug("CacheStatsService.getRegionStats call started...");
+        Statistics statistics = sessionFactory().getStatistics();
+        List<CacheRegionStatsDTO> regionStats = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+                    if (Objects.isNull(regionStatistics)) {
+                        return null;
+                    }
+                    long hits = regionStatistics.getHitCount();
+                    long misses = regionStatistics.getMissCount();
+                    return new CacheRegionStatsDTO(
+                            region,
+                            hits,
+                            misses,
+                            regionStatistics.getPutCount(),
+                            regionStatistics.getElementCountInMemory(),
+                            hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        log.debug("CacheStatsService.getRegionStats call completed...");
+        return regionStats;
+    }
+
+    @Override
+    public String evictRegion(String region) {
+        log.debug("CacheStatsService.evictRegion call started with region: {}", region);
+        SessionFactory sessionFactory = sessionFactory();
+        if (!Arrays.asList(sessionFactory.getStatistics().getSecondLevelCacheRegionNames()).contains(region)) {
+            throw new ResourceNotFoundException("Cache region " + region + " not found.");
+        }
+        sessionFactory.getCache().evictRegion(region);
+        log.debug("CacheStatsService.evictRegion call completed with region: {}", region);
+        return "Cache region " + region + " evicted successfully.";
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.services.CartHoldService;
+import com.ecommerce.project.services.StockLedgerService;
+import com.ecommerce.project.util.HashedWheelTimer;
+import com.ecommerce.project.util.StockLedger;
+import com.ecommerce.project.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Time-limited holds on the stock in each cart. A hold takes its units out of the available count in the
+ * stock ledger until the cart is ordered, the item is removed, or the hold expires on the timer wheel.
+ * Holds live in memory only; after a restart the units are simply available again.
+ */
+@Slf4j
+@Service
+public class CartHoldServiceImpl implements CartHoldService {
+
+    private final StockLedgerService stockLedgerService;
+    private final long ttlMillis;
+    private final HashedWheelTimer<Hold> timer;
+    private final ConcurrentMap<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CartHoldServiceImpl(StockLedgerService stockLedgerService,
+                               @Value("${spring.ecom.app.cart-holds.ttl}") Duration ttl,
+                               @Value("${spring.ecom.app.cart-holds.tick-interval}") Duration tickInterval,
+                               @Value("${spring.ecom.app.cart-holds.wheel-size}") int wheelSize) {
+        this.stockLedgerService = stockLedgerService;
+        this.ttlMillis = ttl.toMillis();
+        this.timer = new HashedWheelTimer<>(wheelSize, tickInterval.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Takes the units straight away and starts, or restarts, the cart's hold clock once the transaction
+     * commits. Returns false when there is not enough available stock.
+     */
+    @Override
+    public boolean hold(Long cartId, Product product, int quantity) {
+        if (stockLedgerService.hold(product, quantity) == StockLedger.REJECTED) {
+            return false;
+        }
+        HoldKey key = new HoldKey(cartId, product.getProductId());
+        TransactionHooks.runAfterCommit(() -> holds.compute(key, (k, current) -> {
+            if (current == null) {
+                return schedule(k, quantity, 0, System.currentTimeMillis() + ttlMillis);
+            }
+            timer.cancel(current.timeout);
+            return schedule(k, current.quantity + quantity, current.ordering, System.currentTimeMillis() + ttlMillis);
+        }));
+        return true;
+    }
+
+    @Override
+    public void release(Long cartId, Long productId, int quantity) {
+        HoldKey key = new HoldKey(cartId, productId);
+        TransactionHooks.runAfterCommit(() -> {
+            int[] released = new int[1];
+            holds.computeIfPresent(key, (k, current) -> {
+                // units claimed by an order still in flight are settled by that order
+                released[0] = Math.min(quantity, current.quantity - current.ordering);
+                if (released[0] == 0) {
+                    return current;
+                }
+                timer.cancel(current.timeout);
+                int remaining = current.quantity - released[0];
+                return remaining == 0 ? null : schedule(k, remaining, current.ordering, current.timeout.deadline());
+            });
+            if (released[0] > 0) {
+                stockLedgerService.releaseHold(productId, released[0]);
+            }
+        });
+    }
+
+    /**
+     * Turns the cart's hold into sold stock and returns how many units it covered. The hold is only claimed
+     * while the order's transaction runs: on commit it is dropped and any held units beyond {@code quantity}
+     * go back to available stock, on rollback it is left as it was, deadline included.
+     */
+    @Override
+    public int consume(Long cartId, Product product, int quantity) {
+        HoldKey key = new HoldKey(cartId, product.getProductId());
+        int[] claimed = new int[1];
+        holds.computeIfPresent(key, (k, current) -> {
+            claimed[0] = current.quantity - current.ordering;
+            return claimed[0] == 0 ? current : new Hold(k, current.quantity, current.ordering + claimed[0], current.timeout);
+        });
+        if (claimed[0] == 0) {
+            return 0;
+        }
+        int units = claimed[0];
+        int covered = Math.min(quantity, units);
+        TransactionHooks.runAfterCommit(() -> {
+            holds.computeIfPresent(key, (k, current) -> {
+                int remaining = current.quantity - units;
+                if (remaining == 0) {
+                    timer.cancel(current.timeout);
+                    return null;
+                }
+                return new Hold(k, remaining, current.ordering - units, current.timeout);
+            });
+            if (units > covered) {
+                stockLedgerService.releaseHold(product.getProductId(), units - covered);
+            }
+        });
+        // the deadline may have passed while the order ran, in which case the hold expires on the next tick
+        TransactionHooks.runAfterRollback(() -> holds.computeIfPresent(key, (k, current) -> {
+            timer.cancel(current.timeout);
+            return schedule(k, current.quantity, current.ordering - units, current.timeout.deadline());
+        }));
+        return stockLedgerService.consumeHold(product, covered);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${spring.ecom.app.cart-holds.tick-interval}")
+    public int expireHolds() {
+        List<Hold> expired = timer.expire(System.currentTimeMillis());
+        int released = 0;
+        for (Hold hold : expired) {
+            int[] units = new int[1];
+            holds.computeIfPresent(hold.key, (k, current) -> {
+                // a hold rescheduled or dropped after the wheel handed it out is no longer ours to release
+                if (current.timeout.payload() != hold) {
+                    return current;
+                }
+                units[0] = current.quantity - current.ordering;
+                return current.ordering == 0 ? null : new Hold(k, current.ordering, current.ordering, current.timeout);
+            });
+            if (units[0] > 0) {
+                stockLedgerService.releaseHold(hold.key.productId(), units[0]);
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.debug("Released {} expired cart holds", released);
+        }
+        return released;
+    }
+
+    private Hold schedule(HoldKey key, int quantity, int ordering, long deadline) {
+        Hold hold = new Hold(key, quantity, ordering, null);
+        hold.timeout = timer.schedule(hold, deadline);
+        return hold;
+    }
+
+    private record HoldKey(Long cartId, Long productId) {
+    }
+
+    // copies made while an order is in flight share the timeout of the hold that was scheduled
+    private static final class Hold {
+        private final HoldKey key;
+        private final int quantity;
+        // units of quantity claimed by an order whose transaction has not finished yet
+        private final int ordering;
+        private HashedWheelTimer.Timeout<Hold> timeout;
+
+        private Hold(HoldKey key, int quantity, int ordering, HashedWheelTimer.Timeout<Hold> timeout) {
+            this.key = key;
+            this.quantity = quantity;
+            this.ordering = ordering;
+            this.timeout = timeout;
+        }
+    }
+}
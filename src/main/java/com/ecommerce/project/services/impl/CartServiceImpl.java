@@ -1,5 +1,6 @@
 package com.ecommerce.project.services.impl;
 
+import com.ecommerce.project.config.metrics.StatementBudget;
 import com.ecommerce.project.dto.CartDTO;
 import com.ecommerce.project.dto.ProductDTO;
 import com.ecommerce.project.entities.Cart;
@@ -10,20 +11,25 @@ import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.services.CartHoldService;
 import com.ecommerce.project.services.CartService;
+import com.ecommerce.project.services.StockLedgerService;
+import com.ecommerce.project.services.TrendingService;
 import com.ecommerce.project.util.AuthUtil;
-import jakarta.transaction.Transactional;
+import com.ecommerce.project.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class CartServiceImpl implements CartService {
 
@@ -33,6 +39,9 @@ public class CartServiceImpl implements CartService {
     private final ProductRepository productRepository;
     private final CartItemRepository cartItemRepository;
     private final ModelMapper modelMapper;
+    private final TrendingService trendingService;
+    private final StockLedgerService stockLedgerService;
+    private final CartHoldService cartHoldService;
 
     @Override
     @Transactional
@@ -51,11 +60,12 @@ public class CartServiceImpl implements CartService {
             log.error("CartServiceImpl.addProductToCart failed with Product already exist in cart");
             throw new APIException("Product " + product.getProductName() + " already exists in the cart.");
         }
-        if (product.getQuantity() == 0) {
+        int available = stockLedgerService.available(product);
+        if (available == 0) {
             log.error("CartServiceImpl.addProductToCart failed with: {} had no quantity", product.getProductName());
             throw new APIException("Product " + product.getProductName() + " has no quantity.");
         }
-        if (product.getQuantity() < quantity) {
+        if (available < quantity || !cartHoldService.hold(cart.getCartId(), product, quantity)) {
             log.error("CartServiceImpl.addProductToCart failed with: {} had no enough quantity", product.getProductName());
             throw new APIException("Product " + product.getProductName() + " has no enough quantity.");
         }
@@ -67,10 +77,10 @@ public class CartServiceImpl implements CartService {
         newCartItem.setProductPrice(product.getPrice());
         CartItem savedCartItem = cartItemRepository.save(newCartItem);
 
-        product.setQuantity(product.getQuantity());
         cart.setTotalPrice(cart.getTotalPrice() + (product.getSpecialPrice() * quantity));
         cart.getCartItems().add(savedCartItem);
         cartRepository.save(cart);
+        TransactionHooks.runAfterCommit(() -> trendingService.productAddedToCart(productId));
 
         CartDTO savedCart = modelMapper.map(cart, CartDTO.class);
 
@@ -105,6 +115,7 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
+    @StatementBudget(1)
     public CartDTO getCart(String emailId, Long cartId) {
         log.debug("CartServiceImpl.getCart call started with emailId: {} and cartId: {}", emailId, cartId);
         Cart cart = cartRepository.findCartByEmailAndCartId(emailId, cartId);
@@ -135,12 +146,16 @@ public class CartServiceImpl implements CartService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found with id " + cartId));
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + productId));
-        if (product.getQuantity() == 0) {
-            throw new APIException("Product " + product.getProductName() + " has no quantity");
-        }
-
-        if (product.getQuantity() < quantity) {
-            throw new APIException("Product " + product.getProductName() + " has no enough quantity");
+        // the user's own hold is already out of the available count, so only increases are checked
+        if (quantity > 0) {
+            int available = stockLedgerService.available(product);
+            if (available == 0) {
+                throw new APIException("Product " + product.getProductName() + " has no quantity");
+            }
+
+            if (available < quantity) {
+                throw new APIException("Product " + product.getProductName() + " has no enough quantity");
+            }
         }
         CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
         if (cartItem == null) {
@@ -155,6 +170,12 @@ public class CartServiceImpl implements CartService {
         if (newQuantity == 0) {
             deleteProductFromCart(cartId, productId);
         } else {
+            if (quantity > 0 && !cartHoldService.hold(cartId, product, quantity)) {
+                throw new APIException("Product " + product.getProductName() + " has no enough quantity");
+            }
+            if (quantity < 0) {
+                cartHoldService.release(cartId, productId, -quantity);
+            }
             cartItem.setProductPrice(product.getSpecialPrice());
             cartItem.setQuantity(cartItem.getQuantity() + quantity);
             cartItem.setDiscount(product.getDiscount());
@@ -192,6 +213,7 @@ public class CartServiceImpl implements CartService {
         cart.setTotalPrice(cart.getTotalPrice() - (cartItem.getProductPrice() * cartItem.getQuantity()));
 
         cartItemRepository.deleteCartItemByProductIdAndCartId(cartId, productId);
+        cartHoldService.release(cartId, productId, cartItem.getQuantity());
 
         cartRepository.save(cart);
 
@@ -200,6 +222,7 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
+    @Transactional
     public void updateProductInCart(Long cartId, Long productId) {
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found with id " + cartId));
@@ -0,0 +1,181 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.dto.CatalogFacetResponse;
+import com.ecommerce.project.dto.CategoryFacetDTO;
+import com.ecommerce.project.dto.PriceBucketFacetDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.services.CatalogFacetService;
+import com.ecommerce.project.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps facet counts in memory, adjusted after each committed catalog edit and rebuilt by a periodic reconcile.
+ * In-stock counts are approximate: reservations and cart holds only change the stock ledger, so they show up
+ * here once the ledger has flushed to the products table and the next reconcile has run.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class CatalogFacetServiceImpl implements CatalogFacetService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    @Value("${spring.ecom.app.facet-price-buckets}")
+    private double[] priceBucketBounds;
+
+    private volatile FacetCounters counters;
+
+    @Override
+    public CatalogFacetResponse getFacets() {
+        log.debug("CatalogFacetService.getFacets call started...");
+        FacetCounters current = currentCounters();
+        List<CategoryFacetDTO> categoryFacets = current.categories().entrySet().stream()
+                .filter(entry -> entry.getValue().name != null)
+                .map(entry -> new CategoryFacetDTO(
+                        entry.getKey(),
+                        entry.getValue().name,
+                        entry.getValue().total.sum(),
+                        entry.getValue().inStock.sum()))
+                .sorted(Comparator.comparing(CategoryFacetDTO::getCategoryName))
+                .toList();
+        List<PriceBucketFacetDTO> priceFacets = new ArrayList<>();
+        for (int i = 0; i < current.priceBuckets().length; i++) {
+            FacetCounter bucket = current.priceBuckets()[i];
+            priceFacets.add(new PriceBucketFacetDTO(
+                    priceBucketBounds[i],
+                    i + 1 < priceBucketBounds.length ? priceBucketBounds[i + 1] : null,
+                    bucket.total.sum(),
+                    bucket.inStock.sum()));
+        }
+        log.debug("CatalogFacetService.getFacets call completed...");
+        return new CatalogFacetResponse(categoryFacets, priceFacets);
+    }
+
+    @Override
+    public void productChanged(ProductState before, ProductState after) {
+        TransactionHooks.runAfterCommit(() -> {
+            FacetCounters current = currentCounters();
+            apply(current, before, -1);
+            apply(current, after, 1);
+        });
+    }
+
+    @Override
+    public void categorySaved(Long categoryId, String categoryName) {
+        TransactionHooks.runAfterCommit(() ->
+                currentCounters().categories().computeIfAbsent(categoryId, id -> new FacetCounter()).name = categoryName);
+    }
+
+    @Override
+    public void categoryDeleted(Long categoryId) {
+        TransactionHooks.runAfterCommit(this::reconcile);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${spring.ecom.app.facet-reconcile-interval}",
+            fixedDelayString = "${spring.ecom.app.facet-reconcile-interval}")
+    public void reconcile() {
+        log.debug("CatalogFacetService.reconcile call started...");
+        Map<Long, FacetCounter> categories = new ConcurrentHashMap<>();
+        categoryRepository.countProductsPerCategory().forEach(facet -> {
+            FacetCounter counter = new FacetCounter();
+            counter.name = facet.getCategoryName();
+            counter.total.add(facet.getTotalProducts());
+            counter.inStock.add(facet.getInStockProducts());
+            categories.put(facet.getCategoryId(), counter);
+        });
+        FacetCounter[] priceBuckets = new FacetCounter[priceBucketBounds.length];
+        for (int i = 0; i < priceBucketBounds.length; i++) {
+            double minPrice = i == 0 ? -Double.MAX_VALUE : priceBucketBounds[i];
+            double maxPrice = i + 1 < priceBucketBounds.length ? priceBucketBounds[i + 1] : Double.MAX_VALUE;
+            priceBuckets[i] = new FacetCounter();
+            priceBuckets[i].total.add(productRepository.countBySpecialPriceGreaterThanEqualAndSpecialPriceLessThan(minPrice, maxPrice));
+            priceBuckets[i].inStock.add(productRepository.countBySpecialPriceGreaterThanEqualAndSpecialPriceLessThanAndQuantityGreaterThan(minPrice, maxPrice, 0));
+        }
+        FacetCounters previous = counters;
+        counters = new FacetCounters(categories, priceBuckets);
+        if (previous != null) {
+            logDrift(previous, counters);
+        }
+        log.debug("CatalogFacetService.reconcile call completed...");
+    }
+
+    private FacetCounters currentCounters() {
+        FacetCounters current = counters;
+        if (current == null) {
+            synchronized (this) {
+                if (counters == null) {
+                    reconcile();
+                }
+                current = counters;
+            }
+        }
+        return current;
+    }
+
+    private void apply(FacetCounters current, ProductState state, int delta) {
+        if (state == null) {
+            return;
+        }
+        boolean inStock = state.quantity() > 0;
+        if (state.categoryId() != null) {
+            FacetCounter category = current.categories().computeIfAbsent(state.categoryId(), id -> new FacetCounter());
+            category.total.add(delta);
+            if (inStock) {
+                category.inStock.add(delta);
+            }
+        }
+        FacetCounter bucket = current.priceBuckets()[bucketOf(state.specialPrice())];
+        bucket.total.add(delta);
+        if (inStock) {
+            bucket.inStock.add(delta);
+        }
+    }
+
+    private int bucketOf(double price) {
+        int index = Arrays.binarySearch(priceBucketBounds, price);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.max(0, Math.min(index, priceBucketBounds.length - 1));
+    }
+
+    private void logDrift(FacetCounters previous, FacetCounters reconciled) {
+        reconciled.categories().forEach((categoryId, counter) -> {
+            FacetCounter old = previous.categories().get(categoryId);
+            long oldTotal = old == null ? 0 : old.total.sum();
+            if (oldTotal != counter.total.sum()) {
+                log.info("Facet count for category {} drifted from {} to {}", categoryId, oldTotal, counter.total.sum());
+            }
+        });
+    }
+
+    private static final class FacetCounter {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder inStock = new LongAdder();
+        private volatile String name;
+    }
+
+    private record FacetCounters(Map<Long, FacetCounter> categories, FacetCounter[] priceBuckets) {
+    }
+}
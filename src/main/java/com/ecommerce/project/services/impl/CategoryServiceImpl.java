@@ -6,7 +6,9 @@ import com.ecommerce.project.entities.Category;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.services.CatalogFacetService;
 import com.ecommerce.project.services.CategoryService;
+import com.ecommerce.project.util.CatalogVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -16,17 +18,21 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
 
     private final ModelMapper modelMapper;
+    private final CatalogFacetService catalogFacetService;
+    private final CatalogVersion catalogVersion;
 
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
@@ -52,6 +58,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         log.debug("CategoryService.createCategory call started...");
         Category category = modelMapper.map(categoryDTO, Category.class);
@@ -61,11 +68,14 @@ public class CategoryServiceImpl implements CategoryService {
             throw new APIException("Category already exists.");
         }
         savedCategory = categoryRepository.save(category);
+        catalogFacetService.categorySaved(savedCategory.getCategoryId(), savedCategory.getCategoryName());
+        catalogVersion.bumpAfterCommit();
         log.debug("CategoryService.createCategory call completed...");
         return modelMapper.map(savedCategory, CategoryDTO.class);
     }
 
     @Override
+    @Transactional
     public CategoryDTO deleteCategory(Long categoryId) {
         log.debug("CategoryService.deleteCategory call started...");
         Category category =
@@ -76,11 +86,14 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ResourceNotFoundException("Category not found");
         }
         categoryRepository.delete(category);
+        catalogFacetService.categoryDeleted(categoryId);
+        catalogVersion.bumpAfterCommit();
         log.debug("CategoryService.deleteCategory call completed...");
         return modelMapper.map(category, CategoryDTO.class);
     }
 
     @Override
+    @Transactional
     public CategoryDTO updateCategory(Long categoryId, CategoryDTO categoryDTO) {
         log.debug("CategoryService.updateCategory call started...");
         Category category = modelMapper.map(categoryDTO, Category.class);
@@ -92,7 +105,10 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ResourceNotFoundException("Category not found");
         }
         existingCategory.setCategoryName(category.getCategoryName());
+        Category savedCategory = categoryRepository.save(existingCategory);
+        catalogFacetService.categorySaved(savedCategory.getCategoryId(), savedCategory.getCategoryName());
+        catalogVersion.bumpAfterCommit();
         log.debug("CategoryService.updateCategory call completed...");
-        return modelMapper.map(categoryRepository.save(existingCategory), CategoryDTO.class);
+        return modelMapper.map(savedCategory, CategoryDTO.class);
     }
 }
@@ -0,0 +1,151 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.exceptions.ServiceOverloadedException;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.services.CheckoutAdmissionService;
+import com.ecommerce.project.util.AdmissionLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Puts every product in the cart behind its own {@link AdmissionLimiter} before checkout starts a
+ * transaction, so a rush on a few products queues here instead of holding pooled connections. Limiters
+ * are created on first use and dropped again once idle.
+ */
+@Slf4j
+@Service
+public class CheckoutAdmissionServiceImpl implements CheckoutAdmissionService {
+
+    private final CartItemRepository cartItemRepository;
+    private final ConcurrentMap<Long, AdmissionLimiter> limiters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final long idleNanos;
+    private final int maxProducts;
+
+    @Autowired
+    public CheckoutAdmissionServiceImpl(CartItemRepository cartItemRepository,
+                                        @Value("${spring.ecom.app.checkout-admission.enabled}") boolean enabled,
+                                        @Value("${spring.ecom.app.checkout-admission.initial-limit}") int initialLimit,
+                                        @Value("${spring.ecom.app.checkout-admission.min-limit}") int minLimit,
+                                        @Value("${spring.ecom.app.checkout-admission.max-limit}") int maxLimit,
+                                        @Value("${spring.ecom.app.checkout-admission.queue-capacity}") int queueCapacity,
+                                        @Value("${spring.ecom.app.checkout-admission.backoff-ratio}") double backoffRatio,
+                                        @Value("${spring.ecom.app.checkout-admission.latency-tolerance}") double latencyTolerance,
+                                        @Value("${spring.ecom.app.checkout-admission.max-wait}") Duration maxWait,
+                                        @Value("${spring.ecom.app.checkout-admission.retry-after}") Duration retryAfter,
+                                        @Value("${spring.ecom.app.checkout-admission.idle-timeout}") Duration idleTimeout,
+                                        @Value("${spring.ecom.app.checkout-admission.max-products}") int maxProducts) {
+        this.cartItemRepository = cartItemRepository;
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxProducts = maxProducts;
+    }
+
+    @Override
+    public <T> T admit(String emailId, Supplier<T> checkout) {
+        if (!enabled) {
+            return checkout.get();
+        }
+        // sorted so two carts sharing products always queue for them in the same order
+        List<Long> productIds = cartItemRepository.findProductIdsByCartEmail(emailId).stream()
+                .distinct()
+                .sorted()
+                .toList();
+        List<AdmissionLimiter> admitted = new ArrayList<>(productIds.size());
+        try {
+            for (Long productId : productIds) {
+                AdmissionLimiter limiter = limiterFor(productId);
+                boolean acquired = limiter != null && limiter.acquire(maxWaitNanos);
+                // a limiter evicted after we looked it up turns everyone away, so look up its replacement
+                while (!acquired && limiter != null && limiter.isRetired()) {
+                    limiter = limiterFor(productId);
+                    acquired = limiter != null && limiter.acquire(maxWaitNanos);
+                }
+                if (limiter == null) {
+                    continue;
+                }
+                if (!acquired) {
+                    log.debug("Checkout for {} rejected at product {}, limit {} with {} waiting",
+                            emailId, productId, limiter.limit(), limiter.waiting());
+                    throw new ServiceOverloadedException("Checkout is busy for one of the products in your cart, please retry shortly", retryAfterSeconds);
+                }
+                admitted.add(limiter);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            admitted.forEach(AdmissionLimiter::cancel);
+            throw new ServiceOverloadedException("Checkout was interrupted while waiting, please retry", retryAfterSeconds);
+        } catch (RuntimeException exception) {
+            admitted.forEach(AdmissionLimiter::cancel);
+            throw exception;
+        }
+
+        long started = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return checkout.get();
+        } catch (TransientDataAccessException | CannotCreateTransactionException exception) {
+            overloaded = true;
+            throw exception;
+        } finally {
+            long latency = System.nanoTime() - started;
+            for (AdmissionLimiter limiter : admitted) {
+                limiter.release(latency, overloaded);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${spring.ecom.app.checkout-admission.idle-timeout}")
+    public int evictIdle() {
+        int evicted = 0;
+        for (Map.Entry<Long, AdmissionLimiter> entry : limiters.entrySet()) {
+            if (entry.getValue().retireIfIdle(idleNanos) && limiters.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle checkout limiters", evicted);
+        }
+        return evicted;
+    }
+
+    // past max-products new products go unlimited rather than growing the map without bound
+    private AdmissionLimiter limiterFor(Long productId) {
+        AdmissionLimiter limiter = limiters.get(productId);
+        if (limiter != null || limiters.size() >= maxProducts) {
+            return limiter;
+        }
+        return limiters.computeIfAbsent(productId, id ->
+                new AdmissionLimiter(initialLimit, minLimit, maxLimit, queueCapacity, backoffRatio, latencyTolerance));
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.config.datasource.ConnectionPoolMetrics;
+import com.ecommerce.project.config.datasource.ConnectionUsageStats;
+import com.ecommerce.project.config.datasource.LatencyHistogram;
+import com.ecommerce.project.config.datasource.ReplicaRoutingDataSource;
+import com.ecommerce.project.dto.EndpointConnectionStatsDTO;
+import com.ecommerce.project.dto.PoolStatsDTO;
+import com.ecommerce.project.services.DataSourceStatsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class DataSourceStatsServiceImpl implements DataSourceStatsService {
+
+    private final HikariDataSource primaryDataSource;
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ConnectionPoolMetrics primaryPoolMetrics;
+    private final ConnectionPoolMetrics replicaPoolMetrics;
+
+    @Override
+    public List<PoolStatsDTO> getPoolStats() {
+        log.debug("DataSourceStatsService.getPoolStats call started...");
+        List<PoolStatsDTO> pools = new ArrayList<>();
+        pools.add(poolStats(primaryDataSource, primaryPoolMetrics));
+        replicaRoutingDataSource.getReplicas().forEach(replica -> pools.add(poolStats(replica, null)));
+        if (!replicaRoutingDataSource.getReplicas().isEmpty()) {
+            PoolStatsDTO replicaUsage = new PoolStatsDTO();
+            replicaUsage.setPoolName(replicaPoolMetrics.getPoolName());
+            replicaUsage.setEndpoints(endpointStats(replicaPoolMetrics));
+            pools.add(replicaUsage);
+        }
+        log.debug("DataSourceStatsService.getPoolStats call completed...");
+        return pools;
+    }
+
+    private PoolStatsDTO poolStats(HikariDataSource dataSource, ConnectionPoolMetrics metrics) {
+        PoolStatsDTO poolStatsDTO = new PoolStatsDTO();
+        poolStatsDTO.setPoolName(dataSource.getPoolName());
+        poolStatsDTO.setMaximumPoolSize(dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            poolStatsDTO.setActiveConnections(pool.getActiveConnections());
+            poolStatsDTO.setIdleConnections(pool.getIdleConnections());
+            poolStatsDTO.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+        if (metrics != null) {
+            poolStatsDTO.setEndpoints(endpointStats(metrics));
+        }
+        return poolStatsDTO;
+    }
+
+    private List<EndpointConnectionStatsDTO> endpointStats(ConnectionPoolMetrics metrics) {
+        return metrics.getStatsByEndpoint().entrySet().stream()
+                .map(this::endpointStats)
+                .sorted(Comparator.comparingLong(EndpointConnectionStatsDTO::getHoldP99Micros).reversed())
+                .toList();
+    }
+
+    private EndpointConnectionStatsDTO endpointStats(Map.Entry<String, ConnectionUsageStats> entry) {
+        LatencyHistogram acquire = entry.getValue().getAcquireMicros();
+        LatencyHistogram hold = entry.getValue().getHoldMicros();
+        return new EndpointConnectionStatsDTO(
+                entry.getKey(),
+                acquire.count(),
+                entry.getValue().getAcquireFailures().sum(),
+                acquire.mean(),
+                acquire.percentile(0.99),
+                acquire.max(),
+                hold.mean(),
+                hold.percentile(0.99),
+                hold.max(),
+                entry.getValue().getLongHolds().sum());
+    }
+}
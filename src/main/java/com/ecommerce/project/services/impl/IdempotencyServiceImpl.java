@@ -0,0 +1,136 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.exceptions.IdempotencyKeyMismatchException;
+import com.ecommerce.project.exceptions.ServiceOverloadedException;
+import com.ecommerce.project.services.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    @Autowired
+    public IdempotencyServiceImpl(ObjectMapper objectMapper,
+                                  @Value("${spring.ecom.app.idempotency.ttl}") Duration ttl,
+                                  @Value("${spring.ecom.app.idempotency.max-entries}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String key, Object request, Supplier<T> action) {
+        byte[] fingerprint = fingerprint(request);
+        Entry candidate = new Entry(fingerprint);
+        Entry existing = entries.get(key);
+        if (existing == null || existing.isExpired(System.nanoTime())) {
+            makeRoom();
+            existing = existing == null
+                    ? entries.putIfAbsent(key, candidate)
+                    : entries.replace(key, existing, candidate) ? null : entries.putIfAbsent(key, candidate);
+        }
+
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+                log.debug("IdempotencyService.execute call failed for key: {}", key);
+                throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+            }
+            log.debug("IdempotencyService.execute replaying key: {}", key);
+            return new Outcome<>((T) await(existing.result), true);
+        }
+
+        try {
+            T value = action.get();
+            candidate.completedAt = System.nanoTime();
+            candidate.result.complete(value);
+            return new Outcome<>(value, false);
+        } catch (RuntimeException | Error exception) {
+            entries.remove(key, candidate);
+            candidate.result.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spring.ecom.app.idempotency.sweep-interval}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        evictExpired();
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        if (excess <= 0) {
+            return;
+        }
+        // drop a tenth of the oldest completed keys at once so a full map is not rescanned on every request
+        entries.entrySet().stream()
+                .filter(entry -> entry.getValue().result.isDone())
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().completedAt))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+        if (entries.size() >= maxEntries) {
+            log.warn("IdempotencyService is full with {} in-flight keys", entries.size());
+            throw new ServiceOverloadedException("Too many requests in progress, please retry", 1);
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", exception);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+
+    private final class Entry {
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        // the retention window starts when the response exists, not when the first attempt arrived
+        private boolean isExpired(long now) {
+            return result.isDone() && now - completedAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderItem;
+import com.ecommerce.project.entities.OrderStatus;
+import com.ecommerce.project.entities.OutboxEvent;
+import com.ecommerce.project.entities.OutboxEventType;
+import com.ecommerce.project.entities.Payment;
+import com.ecommerce.project.entities.PaymentStatus;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.services.OrderEventHandler;
+import com.ecommerce.project.services.ProductService;
+import com.ecommerce.project.services.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class OrderEventHandlerImpl implements OrderEventHandler {
+
+    private final OrderRepository orderRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProductService productService;
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @Override
+    public void confirmPayment(Long orderId) {
+        log.debug("OrderEventHandler.confirmPayment call started with orderId: {}", orderId);
+        Order order = lockOrder(orderId);
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            log.debug("OrderEventHandler.confirmPayment skipped, order {} is {}", orderId, order.getOrderStatus());
+            return;
+        }
+        Payment payment = order.getPayment();
+        if (payment.getPaymentStatus() == PaymentStatus.FAILED) {
+            order.transitionTo(OrderStatus.PAYMENT_FAILED);
+            productService.restockOrderItems(order.getOrderItems());
+            salesAnalyticsService.orderReleased(order);
+        } else {
+            if (payment.getPaymentStatus() == PaymentStatus.PENDING) {
+                payment.transitionTo(PaymentStatus.SUCCEEDED);
+            }
+            order.transitionTo(OrderStatus.CONFIRMED);
+        }
+        outboxEventRepository.save(new OutboxEvent(OutboxEventType.ORDER_NOTIFICATION, orderId, LocalDateTime.now()));
+        log.debug("OrderEventHandler.confirmPayment call completed with status: {}", order.getOrderStatus());
+    }
+
+    @Override
+    public void expirePendingOrder(Long orderId) {
+        log.debug("OrderEventHandler.expirePendingOrder call started with orderId: {}", orderId);
+        Order order = lockOrder(orderId);
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            log.debug("OrderEventHandler.expirePendingOrder skipped, order {} is {}", orderId, order.getOrderStatus());
+            return;
+        }
+        order.transitionTo(OrderStatus.CANCELLED);
+        order.getPayment().release();
+        productService.restockOrderItems(order.getOrderItems());
+        salesAnalyticsService.orderReleased(order);
+        outboxEventRepository.save(new OutboxEvent(OutboxEventType.ORDER_NOTIFICATION, orderId, LocalDateTime.now()));
+        log.debug("OrderEventHandler.expirePendingOrder call completed...");
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void notifyCustomer(Long orderId) {
+        Order order = findOrder(orderId);
+        log.info("Order {} for {} is {}", orderId, order.getEmail(), order.getOrderStatus());
+    }
+
+    private Order findOrder(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+
+    // a confirmation racing an expiry or an admin update waits here and then sees the status the other one left
+    private Order lockOrder(Long orderId) {
+        return orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+}
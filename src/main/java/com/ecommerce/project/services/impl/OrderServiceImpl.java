@@ -1,27 +1,53 @@
 package com.ecommerce.project.services.impl;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.metrics.StatementBudget;
 import com.ecommerce.project.dto.OrderDTO;
+import com.ecommerce.project.dto.OrderHistoryFilterDTO;
+import com.ecommerce.project.dto.OrderHistoryResponse;
 import com.ecommerce.project.dto.OrderItemDTO;
 import com.ecommerce.project.dto.ProductDTO;
 import com.ecommerce.project.entities.*;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.repositories.*;
-import com.ecommerce.project.services.CartService;
+import com.ecommerce.project.services.CartHoldService;
+import com.ecommerce.project.services.CatalogFacetService;
+import com.ecommerce.project.services.CatalogFacetService.ProductState;
+import com.ecommerce.project.services.OrderEventHandler;
 import com.ecommerce.project.services.OrderService;
-import jakarta.transaction.Transactional;
+import com.ecommerce.project.services.OutboxService;
+import com.ecommerce.project.services.ProductService;
+import com.ecommerce.project.services.SalesAnalyticsService;
+import com.ecommerce.project.services.StockLedgerService;
+import com.ecommerce.project.services.TrendingService;
+import com.ecommerce.project.util.CatalogVersion;
+import com.ecommerce.project.util.StockLedger;
+import com.ecommerce.project.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class OrderServiceImpl implements OrderService {
 
@@ -30,9 +56,23 @@ public class OrderServiceImpl implements OrderService {
     private final AddressRepository addressRepository;
     private final PaymentRepository paymentRepository;
     private final OrderItemRepository orderItemRepository;
-    private final CartService cartService;
     private final ModelMapper modelMapper;
-    private final ProductRepository productRepository;
+    private final CatalogFacetService catalogFacetService;
+    private final CatalogVersion catalogVersion;
+    private final OutboxService outboxService;
+    private final OutboxWorker outboxWorker;
+    private final OrderEventHandler orderEventHandler;
+    private final ProductService productService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final TrendingService trendingService;
+    private final StockLedgerService stockLedgerService;
+    private final CartHoldService cartHoldService;
+
+    @Value("${spring.ecom.app.orders.pending-timeout}")
+    private Duration pendingTimeout;
+
+    @Value("${spring.ecom.app.orders.expiry-batch-size}")
+    private int expiryBatchSize;
 
     @Override
     @Transactional
@@ -44,8 +84,8 @@ public class OrderServiceImpl implements OrderService {
                                String pgStatus,
                                String pgResponseMessage) {
         log.debug("OrderServiceImpl.placeOrder call started...");
-        // validations for cart
-        Cart cart = cartRepository.findCartByEmail(emailId);
+        // validations for cart; the row lock makes a concurrent checkout of the same cart wait and then find it empty
+        Cart cart = cartRepository.findCartByEmailForUpdate(emailId);
         if (cart == null) {
             log.error("Cart not found with email: {}", emailId);
             throw new ResourceNotFoundException("Cart not found with email: " + emailId);
@@ -70,7 +110,8 @@ public class OrderServiceImpl implements OrderService {
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
         order.setTotalAmount(cart.getTotalPrice());
-        order.setOrderStatus("Order Accepted !");
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setStatusUpdatedAt(LocalDateTime.now());
         order.setAddress(address);
 
         // create the payment and save into database
@@ -78,6 +119,7 @@ public class OrderServiceImpl implements OrderService {
         payment.setPaymentMethod(paymentMethod);
         payment.setPgPaymentId(pgPaymentId);
         payment.setPgStatus(pgStatus);
+        payment.setPaymentStatus(PaymentStatus.fromGateway(pgStatus));
         payment.setPgResponseMessage(pgResponseMessage);
         payment.setPgName(pgName);
         payment.setOrder(order);
@@ -103,32 +145,139 @@ public class OrderServiceImpl implements OrderService {
 
         // saving the orderItem
         orderItems = orderItemRepository.saveAll(orderItems);
+        savedOrder.setOrderItems(orderItems);
 
-        //updating the stock for product
+        // units still held for the cart are taken as they are, anything not held is reserved from the ledger;
+        // the products table catches up on the next ledger flush
         cart.getCartItems().forEach(item -> {
-            int quantity = item.getQuantity();
             Product product = item.getProduct();
+            int quantity = item.getQuantity() - cartHoldService.consume(cart.getCartId(), product, item.getQuantity());
+            if (quantity == 0) {
+                return;
+            }
+            int remaining = stockLedgerService.reserve(product, quantity);
+            if (remaining == StockLedger.REJECTED) {
+                log.error("Insufficient stock for product: {}", product.getProductName());
+                throw new APIException("Product " + product.getProductName() + " has only " + stockLedgerService.available(product) + " items in stock");
+            }
+            ProductState after = ProductState.of(product).withQuantity(remaining);
+            catalogFacetService.productChanged(after.withQuantity(remaining + quantity), after);
+        });
+        // empty the cart with the order so a retried or concurrent checkout cannot order the same items twice
+        cartItems.clear();
+        cart.setTotalPrice(0.0);
 
-            //Reduce stock quantity
-            product.setQuantity(product.getQuantity() - quantity);
+        catalogVersion.bumpAfterCommit();
+        salesAnalyticsService.orderPlaced(savedOrder);
+        Map<Long, Integer> unitsByProduct = orderItems.stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getProductId(), OrderItem::getQuantity, Integer::sum));
+        TransactionHooks.runAfterCommit(() -> trendingService.orderPlaced(unitsByProduct));
 
-            // save product back to database
-            productRepository.save(product);
+        // payment confirmation runs on the outbox workers once this commits
+        outboxService.enqueue(OutboxEventType.PAYMENT_CONFIRMATION, savedOrder.getOrderId());
+        TransactionHooks.runAfterCommit(outboxWorker::wakeUp);
 
-            //Remove item from cart
-            cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
-        });
+        OrderDTO orderDTO = toOrderDTO(savedOrder, orderItems);
+        orderDTO.setAddressId(addressId);
+        log.debug("OrderServiceImpl.placeOrder call completed with: {}", orderDTO);
+        return orderDTO;
+    }
+
+    @Override
+    @StatementBudget(2)
+    public OrderHistoryResponse getOrderHistory(OrderHistoryFilterDTO filter, String cursor, Integer pageSize) {
+        log.debug("OrderServiceImpl.getOrderHistory call started with filter: {} and cursor: {}", filter, cursor);
+        if (pageSize == null || pageSize < 1 || pageSize > AppConstants.ORDER_HISTORY_MAX_PAGE_SIZE) {
+            throw new APIException("pageSize must be between 1 and " + AppConstants.ORDER_HISTORY_MAX_PAGE_SIZE);
+        }
+        if (filter.getFromDate() != null && filter.getToDate() != null && filter.getFromDate().isAfter(filter.getToDate())) {
+            throw new APIException("fromDate must not be after toDate");
+        }
+        Specification<Order> specification = OrderSpecifications.matching(filter);
+        if (cursor != null) {
+            int separator = cursor.indexOf('_');
+            try {
+                specification = specification.and(OrderSpecifications.before(
+                        LocalDate.parse(cursor.substring(0, separator)),
+                        Long.valueOf(cursor.substring(separator + 1))));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException exception) {
+                log.debug("OrderServiceImpl.getOrderHistory call failed with invalid cursor: {}", cursor);
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // one row past the page tells us whether another page exists
+        List<Long> orderIds = orderRepository.findOrderIdsNewestFirst(specification, pageSize + 1);
+        boolean lastPage = orderIds.size() <= pageSize;
+        if (!lastPage) {
+            orderIds = orderIds.subList(0, pageSize);
+        }
+
+        List<OrderDTO> contents = new ArrayList<>(orderIds.size());
+        String nextCursor = null;
+        if (!orderIds.isEmpty()) {
+            Map<Long, Order> ordersById = orderRepository.findWithItemsAndPaymentByOrderIdIn(orderIds).stream()
+                    .collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+            for (Long orderId : orderIds) {
+                Order order = ordersById.get(orderId);
+                contents.add(toOrderDTO(order, order.getOrderItems()));
+            }
+            if (!lastPage) {
+                OrderDTO last = contents.get(contents.size() - 1);
+                nextCursor = last.getOrderDate() + "_" + last.getOrderId();
+            }
+        }
 
-        OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
+        OrderHistoryResponse orderHistoryResponse = new OrderHistoryResponse(contents, pageSize, lastPage, nextCursor);
+        log.debug("OrderServiceImpl.getOrderHistory call completed with {} orders", contents.size());
+        return orderHistoryResponse;
+    }
+
+    @Override
+    @Transactional
+    public OrderDTO updateOrderStatus(Long orderId, OrderStatus status) {
+        log.debug("OrderServiceImpl.updateOrderStatus call started with orderId: {} and status: {}", orderId, status);
+        // locked like the outbox handlers so an admin cancel cannot interleave with a payment confirmation or expiry
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        order.transitionTo(status);
+        if (status.releasesStock()) {
+            productService.restockOrderItems(order.getOrderItems());
+            salesAnalyticsService.orderReleased(order);
+            order.getPayment().release();
+        }
+        OrderDTO orderDTO = toOrderDTO(order, order.getOrderItems());
+        log.debug("OrderServiceImpl.updateOrderStatus call completed with: {}", orderDTO);
+        return orderDTO;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${spring.ecom.app.orders.expiry-interval}")
+    public int expireStalePendingOrders() {
+        List<Long> orderIds = orderRepository.findOrderIdsByStatusUpdatedBefore(
+                OrderStatus.PENDING, LocalDateTime.now().minus(pendingTimeout), PageRequest.of(0, expiryBatchSize));
+        for (Long orderId : orderIds) {
+            try {
+                orderEventHandler.expirePendingOrder(orderId);
+            } catch (RuntimeException exception) {
+                log.warn("Expiring pending order {} failed", orderId, exception);
+            }
+        }
+        if (!orderIds.isEmpty()) {
+            log.info("Expired {} orders pending for more than {}", orderIds.size(), pendingTimeout);
+        }
+        return orderIds.size();
+    }
+
+    private OrderDTO toOrderDTO(Order order, List<OrderItem> orderItems) {
+        OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+        orderDTO.setOrderItems(new ArrayList<>(orderItems.size()));
         orderItems.forEach(orderItem -> {
             OrderItemDTO orderItemDTO = modelMapper.map(orderItem, OrderItemDTO.class);
             orderItemDTO.setProduct(modelMapper.map(orderItem.getProduct(), ProductDTO.class));
-                    orderDTO.getOrderItems().add(orderItemDTO);
-                }
-        );
-
-        orderDTO.setAddressId(addressId);
-        log.debug("OrderServiceImpl.placeOrder call completed with: {}", orderDTO);
+            orderItemDTO.getProduct().setQuantity(stockLedgerService.available(orderItem.getProduct()));
+            orderDTO.getOrderItems().add(orderItemDTO);
+        });
         return orderDTO;
     }
 }
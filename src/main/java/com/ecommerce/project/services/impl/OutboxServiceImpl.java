@@ -0,0 +1,87 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.entities.OutboxEvent;
+import com.ecommerce.project.entities.OutboxEventType;
+import com.ecommerce.project.entities.OutboxStatus;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.services.OrderEventHandler;
+import com.ecommerce.project.services.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventHandler orderEventHandler;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             OrderEventHandler orderEventHandler,
+                             @Value("${spring.ecom.app.outbox.batch-size}") int batchSize,
+                             @Value("${spring.ecom.app.outbox.max-attempts}") int maxAttempts,
+                             @Value("${spring.ecom.app.outbox.retry-delay}") Duration retryDelay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventHandler = orderEventHandler;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(OutboxEventType eventType, Long aggregateId) {
+        outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        for (OutboxEvent event : batch) {
+            try {
+                dispatch(event);
+                event.setStatus(OutboxStatus.DONE);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+            } catch (RuntimeException exception) {
+                event.setAttempts(event.getAttempts() + 1);
+                String error = String.valueOf(exception);
+                event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (event.getAttempts() >= maxAttempts) {
+                    event.setStatus(OutboxStatus.FAILED);
+                    log.error("Outbox event {} {} for {} failed permanently", event.getOutboxEventId(),
+                            event.getEventType(), event.getAggregateId(), exception);
+                } else {
+                    event.setAvailableAt(now.plus(retryDelay.multipliedBy(event.getAttempts())));
+                    log.warn("Outbox event {} {} for {} failed, attempt {}: {}", event.getOutboxEventId(),
+                            event.getEventType(), event.getAggregateId(), event.getAttempts(), error);
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    private void dispatch(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case PAYMENT_CONFIRMATION -> orderEventHandler.confirmPayment(event.getAggregateId());
+            case ORDER_NOTIFICATION -> orderEventHandler.notifyCustomer(event.getAggregateId());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.services.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class OutboxWorker implements DisposableBean {
+
+    private final OutboxService outboxService;
+    private final int workers;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final AtomicInteger active = new AtomicInteger();
+
+    @Autowired
+    public OutboxWorker(OutboxService outboxService,
+                        @Value("${spring.ecom.app.outbox.workers}") int workers,
+                        @Value("${spring.ecom.app.outbox.batch-size}") int batchSize) {
+        this.outboxService = outboxService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("outbox-"));
+    }
+
+    @Scheduled(fixedDelayString = "${spring.ecom.app.outbox.poll-interval}")
+    public void poll() {
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        int running;
+        do {
+            running = active.get();
+            if (running >= workers || executor.isShutdown()) {
+                return;
+            }
+        } while (!active.compareAndSet(running, running + 1));
+        executor.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            int drained;
+            do {
+                drained = outboxService.drainBatch();
+                if (drained == batchSize) {
+                    wakeUp();
+                }
+            } while (drained > 0);
+        } catch (RuntimeException exception) {
+            log.error("Outbox drain failed", exception);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -2,28 +2,38 @@ package com.ecommerce.project.services.impl;
 
 import com.ecommerce.project.dto.CartDTO;
 import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.ProductFilterDTO;
 import com.ecommerce.project.dto.ProductResponse;
 import com.ecommerce.project.entities.Cart;
 import com.ecommerce.project.entities.Category;
+import com.ecommerce.project.entities.OrderItem;
 import com.ecommerce.project.entities.Product;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductSpecifications;
 import com.ecommerce.project.services.CartService;
+import com.ecommerce.project.services.CatalogFacetService;
+import com.ecommerce.project.services.CatalogFacetService.ProductState;
 import com.ecommerce.project.services.FileService;
 import com.ecommerce.project.services.ProductService;
+import com.ecommerce.project.services.StockLedgerService;
+import com.ecommerce.project.util.CatalogVersion;
+import com.ecommerce.project.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -32,6 +42,7 @@ import java.util.Objects;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
@@ -40,12 +51,16 @@ public class ProductServiceImpl implements ProductService {
     private final FileService fileService;
     private final CartRepository cartRepository;
     private final CartService cartService;
+    private final CatalogFacetService catalogFacetService;
+    private final CatalogVersion catalogVersion;
+    private final StockLedgerService stockLedgerService;
 
 
     @Value("${project.image}")
     private String path;
 
     @Override
+    @Transactional
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
         log.debug("ProductService.addProduct call started...");
         Category category = categoryRepository.findById(categoryId).orElse(null);
@@ -57,7 +72,7 @@ public class ProductServiceImpl implements ProductService {
         boolean isProductNotPresent = true;
         List<Product> products = category.getProducts();
         for (Product product : products) {
-            if (product.getProductName().equals(productDTO.getProductName())) {
+            if (product.getProductName().equalsIgnoreCase(productDTO.getProductName())) {
                 isProductNotPresent = false;
                 break;
             }
@@ -69,7 +84,10 @@ public class ProductServiceImpl implements ProductService {
             product.setSpecialPrice(specialPrice);
             product.setCategory(category);
             product.setImage("default.png");
-            Product savedProduct = productRepository.save(product);
+            Product savedProduct = saveUniquelyNamed(product);
+            catalogFacetService.productChanged(null, ProductState.of(savedProduct));
+            catalogVersion.bumpAfterCommit();
+            TransactionHooks.runAfterCommit(() -> stockLedgerService.productSaved(savedProduct.getProductId(), savedProduct.getQuantity()));
             log.debug("ProductService.addProduct call completed...");
             return modelMapper.map(savedProduct, ProductDTO.class);
         } else {
@@ -87,15 +105,10 @@ public class ProductServiceImpl implements ProductService {
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        Page<Product> productPage = productRepository.findAll(pageDetails);
-        List<Product> products = productPage.getContent();
-
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
-                .toList();
+        Page<ProductDTO> productPage = productRepository.findAllProductDTOs(pageDetails);
 
         ProductResponse productResponse = new ProductResponse();
-        productResponse.setContents(productDTOS);
+        productResponse.setContents(productPage.getContent());
         productResponse.setPageNumber(productPage.getNumber());
         productResponse.setPageSize(productPage.getSize());
         productResponse.setTotalElements(productPage.getTotalElements());
@@ -119,13 +132,9 @@ public class ProductServiceImpl implements ProductService {
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category, pageDetails);
-        List<Product> products = productPage.getContent();
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
-                .toList();
+        Page<ProductDTO> productPage = productRepository.findProductDTOsByCategoryId(category.getCategoryId(), pageDetails);
         ProductResponse productResponse = new ProductResponse();
-        productResponse.setContents(productDTOS);
+        productResponse.setContents(productPage.getContent());
         productResponse.setPageNumber(productPage.getNumber());
         productResponse.setPageSize(productPage.getSize());
         productResponse.setTotalElements(productPage.getTotalElements());
@@ -145,13 +154,9 @@ public class ProductServiceImpl implements ProductService {
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
-        List<Product> products = productPage.getContent();
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
-                .toList();
+        Page<ProductDTO> productPage = productRepository.findProductDTOsByProductNameLike('%' + keyword + '%', pageDetails);
         ProductResponse productResponse = new ProductResponse();
-        productResponse.setContents(productDTOS);
+        productResponse.setContents(productPage.getContent());
         productResponse.setPageNumber(productPage.getNumber());
         productResponse.setPageSize(productPage.getSize());
         productResponse.setTotalElements(productPage.getTotalElements());
@@ -163,6 +168,32 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    public ProductResponse filterProducts(ProductFilterDTO filter, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        log.debug("ProductService.filterProducts call started...");
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            log.debug("ProductService.filterProducts call failed...");
+            throw new APIException("minPrice must not be greater than maxPrice");
+        }
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+
+        Page<ProductDTO> productPage = productRepository.findProductDTOs(ProductSpecifications.matching(filter), pageDetails);
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContents(productPage.getContent());
+        productResponse.setPageNumber(productPage.getNumber());
+        productResponse.setPageSize(productPage.getSize());
+        productResponse.setTotalElements(productPage.getTotalElements());
+        productResponse.setLastPage(productPage.isLast());
+        productResponse.setTotalPages(productPage.getTotalPages());
+        log.debug("ProductService.filterProducts call completed...");
+        return productResponse;
+    }
+
+    @Override
+    @Transactional
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         log.debug("ProductService.updateProduct call started...");
         Product product = productRepository.findById(productId).orElse(null);
@@ -170,13 +201,25 @@ public class ProductServiceImpl implements ProductService {
             log.debug("ProductService.updateProduct call failed...");
             throw new ResourceNotFoundException("Product not found");
         }
+        if (product.getCategory() != null) {
+            for (Product sibling : product.getCategory().getProducts()) {
+                if (!sibling.getProductId().equals(productId) && sibling.getProductName().equalsIgnoreCase(productDTO.getProductName())) {
+                    log.debug("ProductService.updateProduct call failed...");
+                    throw new APIException("Product already exists");
+                }
+            }
+        }
+        ProductState before = ProductState.of(product).withQuantity(stockLedgerService.available(product));
         product.setProductName(productDTO.getProductName());
         product.setDescription(productDTO.getDescription());
         product.setDiscount(productDTO.getDiscount());
         product.setQuantity(productDTO.getQuantity());
         product.setPrice(productDTO.getPrice());
         product.setSpecialPrice(product.getPrice() - ((product.getDiscount() * 0.01) * product.getPrice()));
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = saveUniquelyNamed(product);
+        catalogFacetService.productChanged(before, ProductState.of(savedProduct));
+        catalogVersion.bumpAfterCommit();
+        TransactionHooks.runAfterCommit(() -> stockLedgerService.productSaved(productId, productDTO.getQuantity()));
 
         List<Cart> carts = cartRepository.findCartByProductId(productId);
 
@@ -193,6 +236,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductDTO deleteProduct(Long productId) {
         log.debug("ProductService.deleteProduct call started...");
         Product product = productRepository.findById(productId).orElse(null);
@@ -203,11 +247,15 @@ public class ProductServiceImpl implements ProductService {
         List<Cart> carts = cartRepository.findCartByProductId(productId);
         carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
         productRepository.delete(product);
+        catalogFacetService.productChanged(ProductState.of(product).withQuantity(stockLedgerService.available(product)), null);
+        catalogVersion.bumpAfterCommit();
+        TransactionHooks.runAfterCommit(() -> stockLedgerService.productDeleted(productId));
         log.debug("ProductService.deleteProduct call completed...");
         return modelMapper.map(product, ProductDTO.class);
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProductImage(Long productId, MultipartFile image) throws IOException {
         log.debug("ProductService.updateProductImage call started...");
         Product product = productRepository.findById(productId).orElse(null);
@@ -220,9 +268,34 @@ public class ProductServiceImpl implements ProductService {
         product.setImage(filename);
 
         Product updatedProduct = productRepository.save(product);
+        catalogVersion.bumpAfterCommit();
         log.debug("ProductService.updateProductImage call completed...");
         return modelMapper.map(updatedProduct, ProductDTO.class);
     }
 
+    @Override
+    @Transactional
+    public void restockOrderItems(List<OrderItem> orderItems) {
+        log.debug("ProductService.restockOrderItems call started...");
+        for (OrderItem orderItem : orderItems) {
+            Product product = orderItem.getProduct();
+            ProductState state = ProductState.of(product);
+            int quantity = orderItem.getQuantity();
+            TransactionHooks.runAfterCommit(() -> {
+                int available = stockLedgerService.release(product, quantity);
+                catalogFacetService.productChanged(state.withQuantity(available - quantity), state.withQuantity(available));
+            });
+        }
+        catalogVersion.bumpAfterCommit();
+        log.debug("ProductService.restockOrderItems call completed...");
+    }
 
+    // flushed here so a name taken by a concurrent request trips uk_products_category_product_name inside this call
+    private Product saveUniquelyNamed(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException exception) {
+            throw new APIException("Product already exists");
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.config.metrics.StatementBudget;
+import com.ecommerce.project.dto.CategorySalesDTO;
+import com.ecommerce.project.dto.DailySalesDTO;
+import com.ecommerce.project.dto.ProductSalesDTO;
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderItem;
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.repositories.SalesDailyCategoryRepository;
+import com.ecommerce.project.repositories.SalesDailyProductRepository;
+import com.ecommerce.project.services.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+
+    private static final int MAX_TOP_PRODUCTS = 100;
+
+    private final SalesDailyProductRepository salesDailyProductRepository;
+    private final SalesDailyCategoryRepository salesDailyCategoryRepository;
+
+    @Override
+    @Transactional
+    public void orderPlaced(Order order) {
+        apply(order, 1);
+    }
+
+    @Override
+    @Transactional
+    public void orderReleased(Order order) {
+        apply(order, -1);
+    }
+
+    // rows are upserted in key order so concurrent orders lock them in the same sequence
+    private void apply(Order order, int sign) {
+        Map<Long, Totals> byProduct = new TreeMap<>();
+        Map<Long, Totals> byCategory = new TreeMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = item.getProduct();
+            double revenue = item.getOrderedProductPrice() * item.getQuantity();
+            byProduct.computeIfAbsent(product.getProductId(), id -> new Totals()).add(item.getQuantity(), revenue);
+            if (product.getCategory() != null) {
+                byCategory.computeIfAbsent(product.getCategory().getCategoryId(), id -> new Totals()).add(item.getQuantity(), revenue);
+            }
+        }
+        LocalDate salesDate = order.getOrderDate();
+        byProduct.forEach((productId, totals) -> salesDailyProductRepository.increment(
+                salesDate, productId, sign * totals.units, sign * totals.revenue, sign));
+        byCategory.forEach((categoryId, totals) -> salesDailyCategoryRepository.increment(
+                salesDate, categoryId, sign * totals.units, sign * totals.revenue, sign));
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<DailySalesDTO> getDailySales(LocalDate fromDate, LocalDate toDate) {
+        log.debug("SalesAnalyticsService.getDailySales call started from {} to {}", fromDate, toDate);
+        validateRange(fromDate, toDate);
+        List<DailySalesDTO> dailySales = salesDailyCategoryRepository.findDailySales(fromDate, toDate);
+        log.debug("SalesAnalyticsService.getDailySales call completed with {} days", dailySales.size());
+        return dailySales;
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<ProductSalesDTO> getTopProducts(LocalDate fromDate, LocalDate toDate, Integer limit) {
+        log.debug("SalesAnalyticsService.getTopProducts call started from {} to {}", fromDate, toDate);
+        validateRange(fromDate, toDate);
+        if (limit == null || limit < 1 || limit > MAX_TOP_PRODUCTS) {
+            throw new APIException("limit must be between 1 and " + MAX_TOP_PRODUCTS);
+        }
+        List<ProductSalesDTO> topProducts = salesDailyProductRepository.findTopProducts(fromDate, toDate, PageRequest.of(0, limit));
+        log.debug("SalesAnalyticsService.getTopProducts call completed with {} products", topProducts.size());
+        return topProducts;
+    }
+
+    @Override
+    @StatementBudget(1)
+    public List<CategorySalesDTO> getCategorySales(LocalDate fromDate, LocalDate toDate) {
+        log.debug("SalesAnalyticsService.getCategorySales call started from {} to {}", fromDate, toDate);
+        validateRange(fromDate, toDate);
+        List<CategorySalesDTO> categorySales = salesDailyCategoryRepository.findCategorySales(fromDate, toDate);
+        log.debug("SalesAnalyticsService.getCategorySales call completed with {} categories", categorySales.size());
+        return categorySales;
+    }
+
+    private void validateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new APIException("fromDate must not be after toDate");
+        }
+    }
+
+    private static final class Totals {
+        private long units;
+        private double revenue;
+
+        private void add(long units, double revenue) {
+            this.units += units;
+            this.revenue += revenue;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.dto.ProductStockDTO;
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.services.StockLedgerService;
+import com.ecommerce.project.util.CatalogVersion;
+import com.ecommerce.project.util.StockLedger;
+import com.ecommerce.project.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves availability and reservations from the in-memory {@link StockLedger} and journals changed
+ * quantities to the products table in batches. Assumes this instance is the only writer of stock.
+ * <p>
+ * Anything that reads {@code products.quantity} in SQL - product listings, the facet reconcile, stock
+ * filters - sees the ledger as of the last flush, so it can trail by up to one
+ * {@code stock-ledger.flush-interval}, and cached catalog pages keep those quantities until the catalog version
+ * moves. A flush only bumps the version when a product goes in or out of stock. Decisions that must not oversell
+ * go through this service.
+ */
+@Slf4j
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private final ProductRepository productRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogVersion catalogVersion;
+    private final StockLedger ledger;
+    private final int flushBatchSize;
+
+    @Autowired
+    public StockLedgerServiceImpl(ProductRepository productRepository,
+                                  EntityManagerFactory entityManagerFactory,
+                                  CatalogVersion catalogVersion,
+                                  @Value("${spring.ecom.app.stock-ledger.stripes}") int stripes,
+                                  @Value("${spring.ecom.app.stock-ledger.initial-capacity}") int initialCapacity,
+                                  @Value("${spring.ecom.app.stock-ledger.flush-batch-size}") int flushBatchSize) {
+        this.productRepository = productRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogVersion = catalogVersion;
+        this.ledger = new StockLedger(stripes, Math.max(initialCapacity / stripes, 2));
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    @PostConstruct
+    void load() {
+        for (ProductStockDTO stock : productRepository.findAllProductStock()) {
+            ledger.put(stock.getProductId(), quantityOf(stock.getQuantity()), false);
+        }
+        log.info("Stock ledger loaded with {} products", ledger.size());
+    }
+
+    @Override
+    public int available(Product product) {
+        int available = ledger.available(product.getProductId());
+        return available != StockLedger.MISSING ? available : track(product);
+    }
+
+    /**
+     * Takes the units straight away so concurrent checkouts cannot oversell, and gives them back if the
+     * surrounding transaction rolls back. Returns the remaining stock or {@link StockLedger#REJECTED}.
+     */
+    @Override
+    public int reserve(Product product, int quantity) {
+        long productId = product.getProductId();
+        int remaining = ledger.reserve(productId, quantity);
+        if (remaining == StockLedger.MISSING) {
+            track(product);
+            remaining = ledger.reserve(productId, quantity);
+        }
+        if (remaining >= 0) {
+            TransactionHooks.runAfterRollback(() -> ledger.release(productId, quantity));
+        }
+        return remaining;
+    }
+
+    @Override
+    public int release(Product product, int quantity) {
+        int available = ledger.release(product.getProductId(), quantity);
+        if (available == StockLedger.MISSING) {
+            track(product);
+            available = ledger.release(product.getProductId(), quantity);
+        }
+        return available;
+    }
+
+    /**
+     * Sets units aside for a cart. Like {@link #reserve} the hold is undone if the surrounding transaction
+     * rolls back.
+     */
+    @Override
+    public int hold(Product product, int quantity) {
+        long productId = product.getProductId();
+        int remaining = ledger.hold(productId, quantity);
+        if (remaining == StockLedger.MISSING) {
+            track(product);
+            remaining = ledger.hold(productId, quantity);
+        }
+        if (remaining >= 0) {
+            TransactionHooks.runAfterRollback(() -> ledger.releaseHeld(productId, quantity));
+        }
+        return remaining;
+    }
+
+    @Override
+    public void releaseHold(Long productId, int quantity) {
+        ledger.releaseHeld(productId, quantity);
+    }
+
+    /**
+     * Turns held units into sold stock. If the surrounding transaction rolls back they go back on hold, not
+     * to available stock, since the cart still holds them.
+     */
+    @Override
+    public int consumeHold(Product product, int quantity) {
+        long productId = product.getProductId();
+        int consumed = ledger.consumeHeld(productId, quantity);
+        if (consumed > 0) {
+            TransactionHooks.runAfterRollback(() -> ledger.restoreHeld(productId, consumed));
+        }
+        return consumed;
+    }
+
+    @Override
+    public void productSaved(Long productId, Integer quantity) {
+        // the product's own transaction already wrote this quantity
+        ledger.put(productId, quantityOf(quantity), false);
+    }
+
+    @Override
+    public void productDeleted(Long productId) {
+        ledger.remove(productId);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${spring.ecom.app.stock-ledger.flush-interval}")
+    public synchronized int flush() {
+        long[] productIds = new long[flushBatchSize];
+        int[] quantities = new int[flushBatchSize];
+        int flushed = 0;
+        boolean stockingChanged = false;
+        int count;
+        do {
+            count = ledger.drainDirty(productIds, quantities);
+            if (count == 0) {
+                break;
+            }
+            try {
+                productRepository.writeQuantities(productIds, quantities, count);
+            } catch (RuntimeException exception) {
+                log.warn("Stock ledger flush of {} products failed, retrying on the next flush", count, exception);
+                for (int i = 0; i < count; i++) {
+                    ledger.markDirty(productIds[i]);
+                }
+                break;
+            }
+            // cached products still carry the quantity from before the flush
+            for (int i = 0; i < count; i++) {
+                entityManagerFactory.getCache().evict(Product.class, productIds[i]);
+                int previous = ledger.markPersisted(productIds[i], quantities[i]);
+                stockingChanged |= previous != StockLedger.MISSING && (previous > 0) != (quantities[i] > 0);
+            }
+            flushed += count;
+        } while (count == productIds.length);
+        // listings may show quantities up to a flush old, but a product going in or out of stock is worth a new version
+        if (stockingChanged) {
+            catalogVersion.bump();
+        }
+        if (flushed > 0) {
+            log.debug("Stock ledger flushed {} products", flushed);
+        }
+        return flushed;
+    }
+
+    private int track(Product product) {
+        return ledger.putIfAbsent(product.getProductId(), quantityOf(product.getQuantity()));
+    }
+
+    private static int quantityOf(Integer quantity) {
+        return quantity == null ? 0 : quantity;
+    }
+}
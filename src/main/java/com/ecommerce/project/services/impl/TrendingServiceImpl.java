@@ -0,0 +1,135 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.TrendingProductDTO;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.services.TrendingService;
+import com.ecommerce.project.util.DecayingTopK;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final int CHECKPOINT_MAGIC = 0x54524E44;
+
+    private final ProductRepository productRepository;
+    private final ModelMapper modelMapper;
+    private final int topK;
+    private final Path checkpointFile;
+    private final DecayingTopK bestSellers;
+    private final DecayingTopK trending;
+
+    @Autowired
+    public TrendingServiceImpl(ProductRepository productRepository,
+                               ModelMapper modelMapper,
+                               @Value("${spring.ecom.app.trending.top-k}") int topK,
+                               @Value("${spring.ecom.app.trending.sketch-width}") int sketchWidth,
+                               @Value("${spring.ecom.app.trending.sketch-depth}") int sketchDepth,
+                               @Value("${spring.ecom.app.trending.best-seller-half-life}") Duration bestSellerHalfLife,
+                               @Value("${spring.ecom.app.trending.trending-half-life}") Duration trendingHalfLife,
+                               @Value("${spring.ecom.app.trending.checkpoint-file}") String checkpointFile) {
+        this.productRepository = productRepository;
+        this.modelMapper = modelMapper;
+        this.topK = topK;
+        this.checkpointFile = Paths.get(checkpointFile);
+        long now = System.currentTimeMillis();
+        this.bestSellers = new DecayingTopK(topK, sketchWidth, sketchDepth, bestSellerHalfLife.toMillis(), now);
+        this.trending = new DecayingTopK(topK, sketchWidth, sketchDepth, trendingHalfLife.toMillis(), now);
+    }
+
+    @Override
+    public void orderPlaced(Map<Long, Integer> unitsByProduct) {
+        long now = System.currentTimeMillis();
+        unitsByProduct.forEach((productId, units) -> {
+            bestSellers.add(productId, units, now);
+            trending.add(productId, units, now);
+        });
+    }
+
+    @Override
+    public void productAddedToCart(Long productId) {
+        trending.add(productId, 1, System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendingProductDTO> getBestSellers(Integer limit) {
+        return toProducts(bestSellers, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendingProductDTO> getTrending(Integer limit) {
+        return toProducts(trending, limit);
+    }
+
+    // products are read by id so the lookups are served from the second-level cache
+    private List<TrendingProductDTO> toProducts(DecayingTopK tracker, Integer limit) {
+        if (limit == null || limit < 1 || limit > topK) {
+            throw new APIException("limit must be between 1 and " + topK);
+        }
+        List<TrendingProductDTO> products = new ArrayList<>(limit);
+        for (DecayingTopK.Entry entry : tracker.top(limit, System.currentTimeMillis())) {
+            productRepository.findById(entry.key()).ifPresent(product ->
+                    products.add(new TrendingProductDTO(modelMapper.map(product, ProductDTO.class), entry.count())));
+        }
+        return products;
+    }
+
+    @PostConstruct
+    void restore() {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || !bestSellers.readFrom(in) || !trending.readFrom(in)) {
+                log.warn("Ignoring trending checkpoint {} written with a different configuration", checkpointFile);
+                return;
+            }
+            log.info("Restored trending checkpoint from {}", checkpointFile);
+        } catch (IOException exception) {
+            log.warn("Could not restore trending checkpoint {}", checkpointFile, exception);
+        }
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(initialDelayString = "${spring.ecom.app.trending.checkpoint-interval}",
+            fixedDelayString = "${spring.ecom.app.trending.checkpoint-interval}")
+    public void checkpoint() {
+        try {
+            Path directory = checkpointFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, checkpointFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                bestSellers.writeTo(out);
+                trending.writeTo(out);
+            }
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Trending checkpoint written to {}", checkpointFile);
+        } catch (IOException exception) {
+            log.warn("Could not write trending checkpoint {}", checkpointFile, exception);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.project.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit with a bounded FIFO waiting room in front of it.
+ * <p>
+ * Callers past the limit take a ticket and are admitted strictly in arrival order, each one handed the
+ * slot a finishing caller frees. The limit adapts AIMD-style to measured latency: it grows by roughly one
+ * per limit's worth of fast completions while it is the bottleneck, and shrinks by {@code backoffRatio}
+ * whenever a completion is slower than {@code latencyTolerance} times the uncongested baseline or reports
+ * overload outright.
+ */
+public class AdmissionLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private final int queueCapacity;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private double limit;
+    private int inFlight;
+    private long baselineNanos;
+    private long lastUsedNanos = System.nanoTime();
+    private boolean retired;
+
+    public AdmissionLimiter(int initialLimit, int minLimit, int maxLimit, int queueCapacity,
+                            double backoffRatio, double latencyTolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * Returns true once the caller holds a slot, which it must give back through {@link #release} or
+     * {@link #cancel}. Returns false straight away when the waiting room is full, or after
+     * {@code maxWaitNanos} without reaching the front. A retired limiter returns false to everyone.
+     */
+    public boolean acquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (retired) {
+                return false;
+            }
+            lastUsedNanos = System.nanoTime();
+            if (waiting.isEmpty() && inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (waiting.size() >= queueCapacity) {
+                return false;
+            }
+            Ticket ticket = new Ticket(lock.newCondition());
+            waiting.addLast(ticket);
+            long remaining = maxWaitNanos;
+            try {
+                while (!ticket.admitted) {
+                    if (remaining <= 0) {
+                        waiting.remove(ticket);
+                        return false;
+                    }
+                    remaining = ticket.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException exception) {
+                if (ticket.admitted) {
+                    inFlight--;
+                    admitWaiting();
+                } else {
+                    waiting.remove(ticket);
+                }
+                throw exception;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            boolean limited = inFlight >= currentLimit();
+            inFlight--;
+            if (overloaded || (baselineNanos > 0 && latencyNanos > baselineNanos * latencyTolerance)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (limited) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            // the baseline follows new lows at once and drifts up slowly so it can recover from a fast outlier
+            if (!overloaded) {
+                baselineNanos = baselineNanos == 0 || latencyNanos < baselineNanos
+                        ? latencyNanos
+                        : baselineNanos + (latencyNanos - baselineNanos) / 100;
+            }
+            admitWaiting();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives a slot back without a latency sample, for callers that acquired it but never ran.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            admitWaiting();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retires the limiter if nobody holds or waits for a slot and it has gone unused for {@code idleNanos}.
+     * Checked under the same lock as {@link #acquire}, so no caller can be admitted by a limiter that has
+     * been retired. Returns whether the limiter is retired.
+     */
+    public boolean retireIfIdle(long idleNanos) {
+        lock.lock();
+        try {
+            if (inFlight == 0 && waiting.isEmpty() && System.nanoTime() - lastUsedNanos > idleNanos) {
+                retired = true;
+            }
+            return retired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRetired() {
+        lock.lock();
+        try {
+            return retired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void admitWaiting() {
+        while (!waiting.isEmpty() && inFlight < currentLimit()) {
+            Ticket ticket = waiting.pollFirst();
+            ticket.admitted = true;
+            inFlight++;
+            ticket.condition.signal();
+        }
+    }
+
+    private static final class Ticket {
+        private final Condition condition;
+        private boolean admitted;
+
+        private Ticket(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.project.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final int hotPages;
+    private final int maxPageSize;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                @Value("${spring.ecom.app.catalog-response-cache.hot-pages}") int hotPages,
+                                @Value("${spring.ecom.app.catalog-response-cache.max-page-size}") int maxPageSize,
+                                @Value("${spring.ecom.app.catalog-response-cache.max-entries}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.hotPages = hotPages;
+        this.maxPageSize = maxPageSize;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public boolean isHot(Integer pageNumber, Integer pageSize) {
+        return pageNumber < hotPages && pageSize <= maxPageSize;
+    }
+
+    public void write(String key, CatalogVersion.Snapshot version,
+                      HttpServletRequest request, HttpServletResponse response,
+                      Supplier<Object> loader) throws IOException {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version() != version.version()) {
+            entry = encode(version.version(), loader.get());
+            entries.put(key, entry);
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = entry.identity();
+        if (accepts(acceptEncoding, "gzip")) {
+            body = entry.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        } else if (accepts(acceptEncoding, "deflate")) {
+            body = entry.deflate();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "deflate");
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, version.eTag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePublic().getHeaderValue());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private Entry encode(long version, Object value) throws IOException {
+        byte[] identity = objectMapper.writeValueAsBytes(value);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(identity.length / 4);
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(identity);
+        }
+        ByteArrayOutputStream deflate = new ByteArrayOutputStream(identity.length / 4);
+        try (OutputStream out = new DeflaterOutputStream(deflate)) {
+            out.write(identity);
+        }
+        return new Entry(version, identity, gzip.toByteArray(), deflate.toByteArray());
+    }
+
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equals(coding)) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Entry(long version, byte[] identity, byte[] gzip, byte[] deflate) {
+    }
+}
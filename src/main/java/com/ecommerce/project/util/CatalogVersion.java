@@ -0,0 +1,52 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.config.datasource.ReplicaDataSourceProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class CatalogVersion {
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(snapshot(0));
+    private final long replicaLagNanos;
+
+    @Autowired
+    public CatalogVersion(ReplicaDataSourceProperties replicaProperties) {
+        // without replicas every read sees the latest write at once
+        this.replicaLagNanos = replicaProperties.getReplicas().isEmpty() ? 0 : replicaProperties.getReadYourWritesWindow().toNanos();
+    }
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Whether the replicas can be assumed to have caught up with {@code snapshot}, taking the read-your-writes
+     * window as the bound on replication lag. Until then a page read from a replica may predate the version and
+     * must not be stamped with it.
+     */
+    public boolean isSettled(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.createdNanos() >= replicaLagNanos;
+    }
+
+    public void bumpAfterCommit() {
+        TransactionHooks.runAfterCommit(this::bump);
+    }
+
+    public void bump() {
+        current.updateAndGet(snapshot -> snapshot(snapshot.version() + 1));
+    }
+
+    private Snapshot snapshot(long version) {
+        return new Snapshot(version, "W/\"" + instanceId + "-" + version + "\"",
+                Instant.now().truncatedTo(ChronoUnit.SECONDS), System.nanoTime());
+    }
+
+    public record Snapshot(long version, String eTag, Instant lastModified, long createdNanos) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.project.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Approximate top-K of long keys by exponentially decayed weight.
+ * <p>
+ * Weights go into a count-min sketch and the K largest estimates are kept in a min-heap. Decay uses a
+ * landmark: new weights are scaled up by {@code e^(lambda * (now - landmark))} instead of scaling every
+ * stored count down, so ordering never changes with time. Counts are folded back onto a fresh landmark
+ * before the scale factor gets large enough to lose precision.
+ */
+public class DecayingTopK {
+
+    private static final double MAX_EXPONENT = 40;
+
+    private final int k;
+    private final int width;
+    private final int depth;
+    private final double lambda;
+    private final double[] counters;
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private long landmark;
+
+    public DecayingTopK(int k, int width, int depth, long halfLifeMillis, long now) {
+        this.k = k;
+        this.width = width;
+        this.depth = depth;
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.counters = new double[width * depth];
+        this.landmark = now;
+    }
+
+    public synchronized void add(long key, double weight, long now) {
+        if (lambda * (now - landmark) > MAX_EXPONENT) {
+            rebase(now);
+        }
+        double scaled = weight * Math.exp(lambda * (now - landmark));
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + bucket(key, row);
+            counters[index] += scaled;
+            estimate = Math.min(estimate, counters[index]);
+        }
+
+        Candidate candidate = candidates.get(key);
+        if (candidate != null) {
+            heap.remove(candidate);
+            candidate = new Candidate(key, estimate);
+        } else if (heap.size() < k) {
+            candidate = new Candidate(key, estimate);
+        } else if (estimate > heap.peek().score()) {
+            candidates.remove(heap.poll().key());
+            candidate = new Candidate(key, estimate);
+        } else {
+            return;
+        }
+        heap.offer(candidate);
+        candidates.put(key, candidate);
+    }
+
+    public synchronized List<Entry> top(int limit, long now) {
+        double scale = Math.exp(lambda * (now - landmark));
+        List<Candidate> sorted = new ArrayList<>(heap);
+        sorted.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        List<Entry> entries = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && entries.size() < limit; i++) {
+            entries.add(new Entry(sorted.get(i).key(), sorted.get(i).score() / scale));
+        }
+        return entries;
+    }
+
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(k);
+        out.writeInt(width);
+        out.writeInt(depth);
+        out.writeDouble(lambda);
+        out.writeLong(landmark);
+        for (double counter : counters) {
+            out.writeDouble(counter);
+        }
+        out.writeInt(heap.size());
+        for (Candidate candidate : heap) {
+            out.writeLong(candidate.key());
+            out.writeDouble(candidate.score());
+        }
+    }
+
+    /**
+     * Replaces the current state with a checkpoint written by {@link #writeTo}. Returns false, leaving the
+     * state untouched, when the checkpoint was taken with different dimensions or decay rate.
+     */
+    public synchronized boolean readFrom(DataInput in) throws IOException {
+        if (in.readInt() != k || in.readInt() != width || in.readInt() != depth || in.readDouble() != lambda) {
+            return false;
+        }
+        long savedLandmark = in.readLong();
+        double[] savedCounters = new double[counters.length];
+        for (int i = 0; i < savedCounters.length; i++) {
+            savedCounters[i] = in.readDouble();
+        }
+        int size = in.readInt();
+        List<Candidate> savedCandidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            savedCandidates.add(new Candidate(in.readLong(), in.readDouble()));
+        }
+
+        landmark = savedLandmark;
+        System.arraycopy(savedCounters, 0, counters, 0, counters.length);
+        heap.clear();
+        candidates.clear();
+        for (Candidate candidate : savedCandidates) {
+            heap.offer(candidate);
+            candidates.put(candidate.key(), candidate);
+        }
+        return true;
+    }
+
+    private void rebase(long now) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] *= factor;
+        }
+        List<Candidate> rescaled = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            rescaled.add(new Candidate(candidate.key(), candidate.score() * factor));
+        }
+        heap.clear();
+        candidates.clear();
+        for (Candidate candidate : rescaled) {
+            heap.offer(candidate);
+            candidates.put(candidate.key(), candidate);
+        }
+        landmark = now;
+    }
+
+    private int bucket(long key, int row) {
+        long hash = key + (row + 1) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (int) Math.floorMod(hash, (long) width);
+    }
+
+    public record Entry(long key, double count) {
+    }
+
+    private record Candidate(long key, double score) {
+    }
+}
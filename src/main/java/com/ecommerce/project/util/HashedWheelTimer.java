@@ -0,0 +1,134 @@
+package com.ecommerce.project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deadlines bucketed by tick on a fixed-size wheel. Scheduling and cancelling unlink a node from its bucket
+ * in O(1); {@link #expire} walks only the buckets for the ticks that have passed and hands back everything
+ * due in one batch. Deadlines further out than one turn of the wheel wait in their bucket until their turn.
+ */
+public class HashedWheelTimer<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Bucket<T>> wheel;
+    private final int mask;
+    private long nextTick;
+    private int size;
+
+    public HashedWheelTimer(int wheelSize, long tickMillis, long now) {
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1) << 1);
+        this.tickMillis = tickMillis;
+        this.startMillis = now;
+        this.wheel = new ArrayList<>(buckets);
+        this.mask = buckets - 1;
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new Bucket<>());
+        }
+    }
+
+    public synchronized Timeout<T> schedule(T payload, long deadline) {
+        long tick = Math.max(nextTick, Math.floorDiv(deadline - startMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(payload, deadline, tick);
+        wheel.get((int) (tick & mask)).append(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Returns false when the timeout already expired or was cancelled.
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized List<T> expire(long now) {
+        long currentTick = Math.floorDiv(now - startMillis, tickMillis);
+        if (currentTick < nextTick) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        // past one full turn every bucket is visited once and drained of whatever is due
+        long lastTick = Math.min(currentTick, nextTick + wheel.size() - 1);
+        for (long tick = nextTick; tick <= lastTick; tick++) {
+            Bucket<T> bucket = wheel.get((int) (tick & mask));
+            Timeout<T> timeout = bucket.head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.tick <= currentTick) {
+                    bucket.unlink(timeout);
+                    size--;
+                    expired.add(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+        nextTick = currentTick + 1;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadline;
+        private final long tick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadline, long tick) {
+            this.payload = payload;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void append(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
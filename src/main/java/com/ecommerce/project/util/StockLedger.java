@@ -0,0 +1,454 @@
+package com.ecommerce.project.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Available and held quantity per product id, kept in primitive open-addressing tables split across lock
+ * stripes. Held units are out of the available count but still on hand until a hold is consumed or released.
+ * <p>
+ * Reads take an optimistic stamp and only fall back to the stripe's read lock when a writer interferes.
+ * Every change to the on-hand count marks the slot dirty until {@link #drainDirty} hands it to the journal writer.
+ * Each slot also remembers the on-hand count last known to be in the database, so entries that changed and changed
+ * back are not written again.
+ */
+public class StockLedger {
+
+    public static final int MISSING = Integer.MIN_VALUE;
+    public static final int REJECTED = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StockLedger(int stripeCount, int initialCapacityPerStripe) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacityPerStripe - 1) << 1);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    public int available(long productId) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.tryOptimisticRead();
+        int value = stripe.get(productId, hash);
+        if (stripe.lock.validate(stamp)) {
+            return value;
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.get(productId, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units if that many are available and returns what is left, {@link #REJECTED}
+     * when there is not enough stock, or {@link #MISSING} when the product is not in the ledger.
+     */
+    public int reserve(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            int remaining = stripe.values[slot] - quantity;
+            if (remaining < 0) {
+                return REJECTED;
+            }
+            stripe.values[slot] = remaining;
+            stripe.dirty[slot] = true;
+            return remaining;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns {@code quantity} units and the new total, or {@link #MISSING} when the product is not in the ledger.
+     */
+    public int release(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            stripe.values[slot] += quantity;
+            stripe.dirty[slot] = true;
+            return stripe.values[slot];
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Moves {@code quantity} units from available to held. Returns what is left available, {@link #REJECTED}
+     * or {@link #MISSING} like {@link #reserve}.
+     */
+    public int hold(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            int remaining = stripe.values[slot] - quantity;
+            if (remaining < 0) {
+                return REJECTED;
+            }
+            stripe.values[slot] = remaining;
+            stripe.held[slot] += quantity;
+            return remaining;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Moves up to {@code quantity} held units back to available and returns the new available count.
+     */
+    public int releaseHeld(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            int released = Math.min(quantity, stripe.held[slot]);
+            stripe.held[slot] -= released;
+            stripe.values[slot] += released;
+            return stripe.values[slot];
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes up to {@code quantity} held units from stock altogether, as when a held cart is ordered, and
+     * returns how many were consumed.
+     */
+    public int consumeHeld(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return 0;
+            }
+            int consumed = Math.min(quantity, stripe.held[slot]);
+            stripe.held[slot] -= consumed;
+            stripe.dirty[slot] |= consumed > 0;
+            return consumed;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts units taken by {@link #consumeHeld} back on hold, as when the order that consumed them rolls back.
+     */
+    public void restoreHeld(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot >= 0) {
+                stripe.held[slot] += quantity;
+                stripe.dirty[slot] = true;
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public int held(long productId) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.readLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            return slot < 0 ? 0 : stripe.held[slot];
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sets the on-hand quantity. Units currently held stay held, so the available count becomes what is
+     * left after them. A clean put records a quantity the database already has.
+     */
+    public void put(long productId, int quantity, boolean dirty) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.insert(productId, hash);
+            stripe.values[slot] = Math.max(0, quantity - stripe.held[slot]);
+            stripe.dirty[slot] = dirty;
+            if (!dirty) {
+                stripe.persisted[slot] = quantity;
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds the product unless it is already present and returns the quantity the ledger now holds.
+     */
+    public int putIfAbsent(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot >= 0) {
+                return stripe.values[slot];
+            }
+            slot = stripe.insert(productId, hash);
+            stripe.values[slot] = quantity;
+            stripe.persisted[slot] = quantity;
+            return quantity;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long productId) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.remove(productId, hash);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public void markDirty(long productId) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot >= 0) {
+                stripe.dirty[slot] = true;
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records that the database now holds {@code quantity} for the product and returns the quantity it held
+     * before, or {@link #MISSING}.
+     */
+    public int markPersisted(long productId, int quantity) {
+        long hash = mix(productId);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.find(productId, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            int previous = stripe.persisted[slot];
+            stripe.persisted[slot] = quantity;
+            return previous;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the on-hand quantity of up to {@code productIds.length} dirty entries into the arrays, clears their dirty flags and
+     * returns how many were copied. Entries whose on-hand count is back to the persisted one are cleared without
+     * being copied. Entries that did not fit stay dirty for the next call.
+     */
+    public int drainDirty(long[] productIds, int[] quantities) {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            if (count == productIds.length) {
+                break;
+            }
+            long stamp = stripe.lock.writeLock();
+            try {
+                for (int slot = 0; slot < stripe.keys.length && count < productIds.length; slot++) {
+                    if (stripe.dirty[slot]) {
+                        stripe.dirty[slot] = false;
+                        int onHand = stripe.values[slot] + stripe.held[slot];
+                        if (onHand != stripe.persisted[slot]) {
+                            productIds[count] = stripe.keys[slot];
+                            quantities[count++] = onHand;
+                        }
+                    }
+                }
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private long[] keys;
+        private int[] values;
+        private int[] held;
+        private boolean[] dirty;
+        private int[] persisted;
+        private int size;
+
+        private Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            values = new int[capacity];
+            held = new int[capacity];
+            dirty = new boolean[capacity];
+            persisted = new int[capacity];
+        }
+
+        private int get(long key, long hash) {
+            // optimistic readers may see arrays mid-resize, so re-read the fields and bound the probe
+            long[] keys = this.keys;
+            int[] values = this.values;
+            int mask = Math.min(keys.length, values.length) - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return values[slot];
+                }
+                if (current == EMPTY) {
+                    return MISSING;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return MISSING;
+        }
+
+        private int find(long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int insert(long key, long hash) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                return slot;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int[] oldHeld = held;
+            boolean[] oldDirty = dirty;
+            int[] oldPersisted = persisted;
+            allocate(oldKeys.length * 2);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = (int) mix(oldKeys[i]) & mask;
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    held[slot] = oldHeld[i];
+                    dirty[slot] = oldDirty[i];
+                    persisted[slot] = oldPersisted[i];
+                }
+            }
+        }
+
+        // backward-shift deletion keeps probe sequences intact without tombstones
+        private void remove(long key, long hash) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return;
+            }
+            int mask = keys.length - 1;
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = (int) mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    held[gap] = held[next];
+                    dirty[gap] = dirty[next];
+                    persisted[gap] = persisted[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = EMPTY;
+            values[gap] = 0;
+            held[gap] = 0;
+            dirty[gap] = false;
+            persisted[gap] = 0;
+            size--;
+        }
+    }
+}
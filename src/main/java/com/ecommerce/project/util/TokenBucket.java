@@ -0,0 +1,44 @@
+package com.ecommerce.project.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single atomic "theoretical arrival time" (the GCRA form of a token bucket).
+ * <p>
+ * Each token taken pushes that time forward by one refill interval; a request is allowed while the time
+ * stays within {@code capacity} intervals of now. The whole state is one long, so taking a token is a
+ * single compare-and-set and a bucket whose time has fallen behind now is full and can be discarded.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+        this.intervalNanos = refillIntervalNanos;
+        this.burstNanos = capacity * refillIntervalNanos;
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token and returns 0, or returns how many nanoseconds to wait until one is available.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long now) {
+        return arrival.get() - now <= 0;
+    }
+}
@@ -0,0 +1,133 @@
+CREATE TABLE users
+(
+    user_id  BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(20)  NOT NULL,
+    email    VARCHAR(50)  NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE roles
+(
+    role_id   BIGINT NOT NULL AUTO_INCREMENT,
+    role_name ENUM ('ROLE_ADMIN','ROLE_SELLER','ROLE_USER'),
+    PRIMARY KEY (role_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles
+(
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories
+(
+    category_id   BIGINT       NOT NULL AUTO_INCREMENT,
+    category_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE id_generators
+(
+    gen_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (gen_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE products
+(
+    product_id    BIGINT       NOT NULL,
+    product_name  VARCHAR(255) NOT NULL,
+    image         VARCHAR(255),
+    description   VARCHAR(255) NOT NULL,
+    quantity      INTEGER,
+    price         FLOAT(53)    NOT NULL,
+    discount      FLOAT(53)    NOT NULL,
+    special_price FLOAT(53)    NOT NULL,
+    category_id   BIGINT,
+    seller_id     BIGINT,
+    PRIMARY KEY (product_id),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (category_id),
+    CONSTRAINT fk_products_seller FOREIGN KEY (seller_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE addresses
+(
+    address_id    BIGINT       NOT NULL,
+    street        VARCHAR(255) NOT NULL,
+    building_name VARCHAR(255) NOT NULL,
+    city          VARCHAR(255) NOT NULL,
+    state         VARCHAR(255) NOT NULL,
+    country       VARCHAR(255) NOT NULL,
+    pincode       VARCHAR(255) NOT NULL,
+    user_id       BIGINT,
+    PRIMARY KEY (address_id),
+    CONSTRAINT fk_addresses_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE carts
+(
+    cart_id     BIGINT NOT NULL,
+    user_id     BIGINT,
+    total_price FLOAT(53),
+    PRIMARY KEY (cart_id),
+    CONSTRAINT uk_carts_user_id UNIQUE (user_id),
+    CONSTRAINT fk_carts_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_items
+(
+    cart_item_id  BIGINT NOT NULL,
+    cart_id       BIGINT,
+    product_id    BIGINT,
+    quantity      INTEGER,
+    discount      FLOAT(53),
+    product_price FLOAT(53),
+    PRIMARY KEY (cart_item_id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES carts (cart_id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment
+(
+    payment_id          BIGINT       NOT NULL,
+    payment_method      VARCHAR(255) NOT NULL,
+    pg_payment_id       VARCHAR(255),
+    pg_status           VARCHAR(255),
+    pg_response_message VARCHAR(255),
+    pg_name             VARCHAR(255),
+    PRIMARY KEY (payment_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders
+(
+    order_id     BIGINT       NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    order_date   DATE,
+    payment_id   BIGINT,
+    total_amount FLOAT(53),
+    order_status VARCHAR(255),
+    address_id   BIGINT,
+    PRIMARY KEY (order_id),
+    CONSTRAINT uk_orders_payment_id UNIQUE (payment_id),
+    CONSTRAINT fk_orders_payment FOREIGN KEY (payment_id) REFERENCES payment (payment_id),
+    CONSTRAINT fk_orders_address FOREIGN KEY (address_id) REFERENCES addresses (address_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_item
+(
+    order_item_id         BIGINT    NOT NULL,
+    product_id            BIGINT,
+    order_id              BIGINT,
+    quantity              INTEGER,
+    discount              FLOAT(53) NOT NULL,
+    ordered_product_price FLOAT(53) NOT NULL,
+    PRIMARY KEY (order_item_id),
+    CONSTRAINT fk_order_item_product FOREIGN KEY (product_id) REFERENCES products (product_id),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id) REFERENCES orders (order_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Databases created before the switch from IDENTITY columns already hold rows, so every
+-- pooled generator has to start one allocation block (50) above the current max id.
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    gen_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (gen_name)
+) ENGINE = InnoDB;
+
+DELETE FROM id_generators;
+
+INSERT INTO id_generators (gen_name, next_val) SELECT 'products', COALESCE(MAX(product_id), 0) + 51 FROM products;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'carts', COALESCE(MAX(cart_id), 0) + 51 FROM carts;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'cart_items', COALESCE(MAX(cart_item_id), 0) + 51 FROM cart_items;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'orders', COALESCE(MAX(order_id), 0) + 51 FROM orders;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'order_item', COALESCE(MAX(order_item_id), 0) + 51 FROM order_item;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'payment', COALESCE(MAX(payment_id), 0) + 51 FROM payment;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'addresses', COALESCE(MAX(address_id), 0) + 51 FROM addresses;
@@ -0,0 +1,25 @@
+-- CartRepository.findCartByEmail: users.email and carts.user_id are already unique-indexed.
+
+-- CartItemRepository.findCartItemByProductIdAndCartId / deleteCartItemByProductIdAndCartId
+CREATE INDEX idx_cart_items_cart_product ON cart_items (cart_id, product_id);
+
+-- CategoryRepository.findByCategoryName
+CREATE INDEX idx_categories_category_name ON categories (category_name);
+
+-- ProductRepository.findProductDTOsByCategoryId: category pages and their counts; lets MySQL read sortBy=price pages in index order
+CREATE INDEX idx_products_category_price ON products (category_id, price);
+
+-- Rename existing duplicates (all but the oldest row) so the unique index below can be built
+UPDATE products
+SET product_name = CONCAT(product_name, ' (', product_id, ')')
+WHERE product_id IN (SELECT product_id
+                     FROM (SELECT p.product_id
+                           FROM products p
+                           WHERE EXISTS (SELECT 1
+                                         FROM products o
+                                         WHERE o.category_id = p.category_id
+                                           AND o.product_name = p.product_name
+                                           AND o.product_id < p.product_id)) duplicates);
+
+-- One product name per category; also the narrowest index to scan for the keyword LIKE count
+CREATE UNIQUE INDEX uk_products_category_product_name ON products (category_id, product_name);
@@ -0,0 +1,9 @@
+-- ProductFilterRepository: category set plus special-price range
+CREATE INDEX idx_products_category_special_price ON products (category_id, special_price);
+
+-- ProductFilterRepository: special-price range across all categories; quantity keeps in-stock
+-- filtering and the facet price-bucket counts inside the index
+CREATE INDEX idx_products_special_price_quantity ON products (special_price, quantity);
+
+-- ProductFilterRepository: discount threshold
+CREATE INDEX idx_products_discount_special_price ON products (discount, special_price);
@@ -0,0 +1,18 @@
+CREATE TABLE outbox_events
+(
+    outbox_event_id BIGINT       NOT NULL,
+    event_type      VARCHAR(40)  NOT NULL,
+    aggregate_id    BIGINT       NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    attempts        INT          NOT NULL,
+    available_at    DATETIME(6)  NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    processed_at    DATETIME(6),
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (outbox_event_id)
+) ENGINE = InnoDB;
+
+-- OutboxEventRepository.claimBatch: ready events in id order
+CREATE INDEX idx_outbox_events_status_available ON outbox_events (status, available_at, outbox_event_id);
+
+INSERT INTO id_generators (gen_name, next_val) VALUES ('outbox_events', 51);
@@ -0,0 +1,5 @@
+-- OrderHistoryRepository: a customer's orders newest first, keyset on (order_date, order_id)
+CREATE INDEX idx_orders_email_order_date ON orders (email, order_date, order_id);
+
+-- OrderHistoryRepository: admin history across all customers
+CREATE INDEX idx_orders_order_date ON orders (order_date, order_id);
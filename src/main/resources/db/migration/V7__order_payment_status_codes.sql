@@ -0,0 +1,33 @@
+-- Order.orderStatus and Payment.paymentStatus are stored as one-character codes
+-- (see OrderStatus and PaymentStatus). Orders placed before the outbox pipeline were
+-- settled synchronously, so their free-text status becomes CONFIRMED.
+ALTER TABLE orders ADD COLUMN order_status_code CHAR(1);
+ALTER TABLE orders ADD COLUMN status_updated_at DATETIME(6);
+
+UPDATE orders
+SET order_status_code = CASE order_status
+                            WHEN 'PENDING' THEN 'P'
+                            WHEN 'PAYMENT_FAILED' THEN 'F'
+                            ELSE 'C'
+    END,
+    status_updated_at = COALESCE(order_date, CURRENT_DATE);
+
+ALTER TABLE orders DROP COLUMN order_status;
+ALTER TABLE orders RENAME COLUMN order_status_code TO order_status;
+ALTER TABLE orders MODIFY order_status CHAR(1) NOT NULL;
+ALTER TABLE orders MODIFY status_updated_at DATETIME(6) NOT NULL;
+
+ALTER TABLE payment ADD COLUMN payment_status CHAR(1);
+
+-- Same exact-match lists as PaymentStatus.fromGateway; unrecognised gateway statuses stay pending.
+UPDATE payment
+SET payment_status = CASE
+                         WHEN LOWER(TRIM(pg_status)) IN ('succeeded', 'success', 'successful', 'paid', 'captured', 'completed') THEN 'S'
+                         WHEN LOWER(TRIM(pg_status)) IN ('failed', 'failure', 'declined', 'denied', 'rejected', 'canceled', 'cancelled') THEN 'F'
+                         ELSE 'P'
+    END;
+
+ALTER TABLE payment MODIFY payment_status CHAR(1) NOT NULL;
+
+-- OrderRepository.findOrderIdsByStatusUpdatedBefore: e.g. orders still PENDING after N minutes
+CREATE INDEX idx_orders_status_updated_at ON orders (order_status, status_updated_at, order_id);
@@ -0,0 +1,42 @@
+-- SalesAnalyticsService: revenue per day x product and per day x category, maintained
+-- incrementally as orders are placed and released
+CREATE TABLE sales_daily_product
+(
+    sales_date  DATE      NOT NULL,
+    product_id  BIGINT    NOT NULL,
+    units       BIGINT    NOT NULL,
+    revenue     FLOAT(53) NOT NULL,
+    order_count BIGINT    NOT NULL,
+    PRIMARY KEY (sales_date, product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE sales_daily_category
+(
+    sales_date  DATE      NOT NULL,
+    category_id BIGINT    NOT NULL,
+    units       BIGINT    NOT NULL,
+    revenue     FLOAT(53) NOT NULL,
+    order_count BIGINT    NOT NULL,
+    PRIMARY KEY (sales_date, category_id)
+) ENGINE = InnoDB;
+
+-- Backfill from existing orders. 'F' and 'X' are the OrderStatus codes whose releasesStock() is true,
+-- i.e. orders SalesAnalyticsService.orderReleased has already subtracted again.
+INSERT INTO sales_daily_product (sales_date, product_id, units, revenue, order_count)
+SELECT o.order_date, oi.product_id, SUM(oi.quantity), SUM(oi.ordered_product_price * oi.quantity), COUNT(DISTINCT o.order_id)
+FROM order_item oi
+         JOIN orders o ON o.order_id = oi.order_id
+WHERE o.order_date IS NOT NULL
+  AND oi.product_id IS NOT NULL
+  AND o.order_status NOT IN ('F', 'X')
+GROUP BY o.order_date, oi.product_id;
+
+INSERT INTO sales_daily_category (sales_date, category_id, units, revenue, order_count)
+SELECT o.order_date, p.category_id, SUM(oi.quantity), SUM(oi.ordered_product_price * oi.quantity), COUNT(DISTINCT o.order_id)
+FROM order_item oi
+         JOIN orders o ON o.order_id = oi.order_id
+         JOIN products p ON p.product_id = oi.product_id
+WHERE o.order_date IS NOT NULL
+  AND p.category_id IS NOT NULL
+  AND o.order_status NOT IN ('F', 'X')
+GROUP BY o.order_date, p.category_id;
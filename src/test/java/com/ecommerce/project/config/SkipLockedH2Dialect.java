@@ -0,0 +1,25 @@
+package com.ecommerce.project.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * H2 understands {@code FOR UPDATE SKIP LOCKED}, but Hibernate's dialect renders a plain {@code FOR UPDATE}; this
+ * one renders it like the MySQL dialect does so the outbox claim behaves the same in tests.
+ */
+public class SkipLockedH2Dialect extends H2Dialect {
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString() {
+        return getForUpdateString() + " skip locked";
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString(String aliases) {
+        return getForUpdateString(aliases) + " skip locked";
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.project.config.datasource;
+
+import com.ecommerce.project.config.datasource.ReplicaDataSourceProperties.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void wireDataSources() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+
+        // same chain as DataSourceConfig, minus the pool instrumentation
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, tracker));
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primary, List.of(replica), ReplicaSelection.ROUND_ROBIN, tracker, Duration.ofSeconds(30)));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void closeDataSources() {
+        SecurityContextHolder.clearContext();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void plainReadsGoToTheReplica() {
+        authenticate(new UsernamePasswordAuthenticationToken("alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimaryForThatUserOnly() {
+        authenticate(new UsernamePasswordAuthenticationToken("alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        write();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        authenticate(new UsernamePasswordAuthenticationToken("bob", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void anonymousWritesDoNotPinAnonymousReads() {
+        authenticate(new AnonymousAuthenticationToken("key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        write();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaFails() {
+        replica.close();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void primaryFallbackReadsCountTowardsThePrimaryPool() throws SQLException {
+        ConnectionPoolMetrics primaryMetrics = new ConnectionPoolMetrics("primary", Duration.ofSeconds(1));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(new InstrumentedDataSource(primary, primaryMetrics),
+                List.of(), ReplicaSelection.ROUND_ROBIN, new ReadYourWritesTracker(Duration.ofSeconds(5)), Duration.ofSeconds(30));
+
+        try (Connection connection = routing.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        assertThat(primaryMetrics.drainAcquireWindow().acquisitions()).isEqualTo(1);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void write() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+    }
+
+    private static void authenticate(Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private static HikariDataSource embedded(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE node (name VARCHAR(16)); INSERT INTO node VALUES ('" + name + "')");
+        return dataSource;
+    }
+}
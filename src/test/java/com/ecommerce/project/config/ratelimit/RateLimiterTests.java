@@ -0,0 +1,60 @@
+package com.ecommerce.project.config.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsRoutesThatCannotRefill() {
+        assertThatThrownBy(() -> new RateLimiter(properties(2, route(0, Duration.ofMinutes(1))), meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("capacity above 0");
+        assertThatThrownBy(() -> new RateLimiter(properties(2, route(1_000, Duration.ofNanos(999))), meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer refill-period");
+    }
+
+    @Test
+    void fullMapEvictsIdleBucketsBeforeFallingBackToOverflow() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(properties(2, route(1, Duration.ofMillis(50))), meterRegistry);
+        RateLimiter.Route route = rateLimiter.match("GET", "/api/limited");
+
+        assertThat(rateLimiter.tryAcquire(route, "a")).isZero();
+        assertThat(rateLimiter.tryAcquire(route, "b")).isZero();
+        // both buckets are still draining, so a third client has nowhere to go
+        assertThat(rateLimiter.tryAcquire(route, "c")).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("ecom.rate_limit.overflow", "route", "/api/limited").count()).isEqualTo(1);
+
+        // once a and b have refilled, a new client takes one of their places instead of the overflow bucket
+        Thread.sleep(100);
+        assertThat(rateLimiter.tryAcquire(route, "d")).isZero();
+        assertThat(rateLimiter.tryAcquire(route, "e")).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("ecom.rate_limit.overflow", "route", "/api/limited").count()).isEqualTo(1);
+    }
+
+    private static RateLimitProperties properties(int maxBuckets, RateLimitProperties.Route route) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(maxBuckets);
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+
+    private static RateLimitProperties.Route route(int capacity, Duration refillPeriod) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/limited");
+        route.setCapacity(capacity);
+        route.setRefillPeriod(refillPeriod);
+        return route;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.services.CategoryService;
+import com.ecommerce.project.services.ProductService;
+import com.ecommerce.project.services.StockLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(username = "user")
+class CatalogConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    // journal stock left dirty by earlier tests now, so the scheduled flush cannot move the version mid-test
+    @BeforeEach
+    void settleStockLedger() {
+        stockLedgerService.flush();
+    }
+
+    @Test
+    void cachedCategoryPageIsRevalidatedAndRebuiltAfterAWrite() throws Exception {
+        String eTag = newestCategories(null).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        mockMvc.perform(get("/api/public/categories").param("sortOrder", "desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        String name = "Conditional " + System.nanoTime();
+        categoryService.createCategory(new CategoryDTO(null, name));
+
+        MvcResult changed = newestCategories(eTag);
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(changed.getResponse().getContentAsString()).contains(name);
+    }
+
+    @Test
+    void uncachedProductPageIsRevalidatedAfterAWrite() throws Exception {
+        Long categoryId = categoryService.createCategory(new CategoryDTO(null, "Conditional products " + System.nanoTime())).getCategoryId();
+        productService.addProduct(categoryId, new ProductDTO(null, "Conditional first", "description", null, 10, 100, 0, 0));
+
+        String eTag = mockMvc.perform(get("/api/public/{categoryId}/products", categoryId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/public/{categoryId}/products", categoryId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        productService.addProduct(categoryId, new ProductDTO(null, "Conditional second", "description", null, 10, 200, 0, 0));
+
+        String body = mockMvc.perform(get("/api/public/{categoryId}/products", categoryId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).contains("Conditional first", "Conditional second");
+    }
+
+    private MvcResult newestCategories(String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/public/categories").param("sortOrder", "desc");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+}
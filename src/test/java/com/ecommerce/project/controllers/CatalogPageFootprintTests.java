@@ -0,0 +1,121 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.config.metrics.QueryCounter;
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.entities.CartItem;
+import com.ecommerce.project.services.CategoryService;
+import com.ecommerce.project.services.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A catalog page reads product rows only: the statement count and the heap allocated per request must not grow
+ * with the number of carts that reference the listed products.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(username = "user")
+class CatalogPageFootprintTests {
+
+    private static final int PRODUCTS = 50;
+    private static final int CARTS_PER_PRODUCT = 40;
+    private static final long FIRST_CART_ID = 900_000_000L;
+    private static final int MAX_STATEMENTS = 3;
+    // a page of 50 products allocates roughly 400 KB on H2; loading the 2000 cart lines would blow well past this
+    private static final long MAX_ALLOCATED_BYTES = 1024 * 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void catalogPageCostDoesNotDependOnCartLines() throws Exception {
+        Long categoryId = categoryService.createCategory(new CategoryDTO(null, "Footprint " + System.nanoTime())).getCategoryId();
+        List<Long> productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productService.addProduct(categoryId,
+                    new ProductDTO(null, "Footprint product " + i, "description", null, 10, 100 + i, 10, 0)).getProductId());
+        }
+        seedCartLines(productIds);
+
+        // the first request warms up the JIT, the query plan cache and the JSON writers
+        requestPage(categoryId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        QueryCounter.reset();
+        long thread = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        requestPage(categoryId);
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - bytes;
+        long statements = QueryCounter.current();
+
+        assertThat(statements).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(statistics.getEntityStatistics(CartItem.class.getName()).getLoadCount()).isZero();
+        assertThat(allocated).isLessThan(MAX_ALLOCATED_BYTES);
+    }
+
+    @AfterEach
+    void dropCartLines() {
+        jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id >= ?", FIRST_CART_ID);
+        jdbcTemplate.update("DELETE FROM carts WHERE cart_id >= ?", FIRST_CART_ID);
+    }
+
+    private void requestPage(Long categoryId) throws Exception {
+        mockMvc.perform(get("/api/public/{categoryId}/products", categoryId).param("pageSize", String.valueOf(PRODUCTS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contents.length()").value(PRODUCTS));
+    }
+
+    private void seedCartLines(List<Long> productIds) {
+        List<Object[]> carts = new ArrayList<>(CARTS_PER_PRODUCT);
+        for (int i = 0; i < CARTS_PER_PRODUCT; i++) {
+            carts.add(new Object[]{FIRST_CART_ID + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO carts (cart_id, total_price) VALUES (?, 0)", carts);
+
+        List<Object[]> lines = new ArrayList<>(PRODUCTS * CARTS_PER_PRODUCT);
+        for (int i = 0; i < CARTS_PER_PRODUCT; i++) {
+            for (Long productId : productIds) {
+                lines.add(new Object[]{FIRST_CART_ID + lines.size(), FIRST_CART_ID + i, productId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cart_items (cart_item_id, cart_id, product_id, quantity, discount, product_price) " +
+                "VALUES (?, ?, ?, 1, 0, 100)", lines);
+    }
+}
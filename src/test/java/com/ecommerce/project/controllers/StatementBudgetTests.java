@@ -0,0 +1,67 @@
+package com.ecommerce.project.controllers;
+
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.services.CategoryService;
+import com.ecommerce.project.services.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(username = "user")
+class StatementBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private static Long categoryId;
+
+    @BeforeEach
+    void seedCatalogAndCart() throws Exception {
+        if (categoryId != null) {
+            return;
+        }
+        CategoryDTO category = categoryService.createCategory(new CategoryDTO(null, "Budget " + System.nanoTime()));
+        categoryId = category.getCategoryId();
+        for (int i = 0; i < 12; i++) {
+            ProductDTO product = productService.addProduct(categoryId,
+                    new ProductDTO(null, "Budget product " + i, "description", null, 10, 100 + i, 10, 0));
+            if (i < 3) {
+                mockMvc.perform(post("/api/cart/product/{productId}/quantity/{quantity}", product.getProductId(), 1))
+                        .andExpect(status().isOk());
+            }
+        }
+    }
+
+    @Test
+    void cartStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/carts/user/cart")).andExpect(status().isOk());
+    }
+
+    @Test
+    void catalogListingsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/public/products").param("pageNumber", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/public/{categoryId}/products", categoryId).param("pageSize", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/public/products/filter").param("minPrice", "50").param("pageSize", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/public/products/keyword/{keyword}", "budget").param("pageSize", "5")).andExpect(status().isFound());
+        mockMvc.perform(get("/api/public/categories").param("pageNumber", "5")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.project.entities;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentStatusTests {
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "succeeded, SUCCEEDED",
+            "Success, SUCCEEDED",
+            "PAID, SUCCEEDED",
+            "captured, SUCCEEDED",
+            "' completed ', SUCCEEDED",
+            "failed, FAILED",
+            "Declined, FAILED",
+            "cancelled, FAILED",
+            "unsuccessful, PENDING",
+            "unpaid, PENDING",
+            "not paid, PENDING",
+            "incomplete, PENDING",
+            "payment failed?, PENDING",
+            "processing, PENDING",
+            "'', PENDING",
+            "null, PENDING"
+    })
+    void mapsOnlyExactGatewayStatuses(String pgStatus, PaymentStatus expected) {
+        assertThat(PaymentStatus.fromGateway(pgStatus)).isEqualTo(expected);
+    }
+}
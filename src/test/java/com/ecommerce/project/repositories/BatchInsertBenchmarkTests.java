@@ -0,0 +1,112 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.entities.Category;
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderItem;
+import com.ecommerce.project.entities.OrderStatus;
+import com.ecommerce.project.entities.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput with pooled table ids and JDBC batching; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchInsertBenchmarkTests {
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkCatalogLoad() {
+        Category category = categoryRepository.save(new Category(null, "Bulk load " + System.nanoTime(), null));
+        measure("bulk catalog load", round -> {
+            List<Product> products = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                products.add(product(category, "Bulk " + round + "-" + i));
+            }
+            productRepository.saveAll(products);
+        });
+    }
+
+    @Test
+    void orderItemInserts() {
+        Category category = categoryRepository.save(new Category(null, "Order items " + System.nanoTime(), null));
+        List<Product> products = productRepository.saveAll(List.of(
+                product(category, "Ordered A"), product(category, "Ordered B"), product(category, "Ordered C")));
+        measure("order item inserts", round -> {
+            Order order = new Order();
+            order.setEmail("bench@example.com");
+            order.setOrderDate(LocalDate.now());
+            order.setTotalAmount(0.0);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setStatusUpdatedAt(LocalDateTime.now());
+            Order savedOrder = orderRepository.save(order);
+            List<OrderItem> orderItems = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                orderItems.add(new OrderItem(null, products.get(i % products.size()), savedOrder, 1, 0, 100));
+            }
+            orderItemRepository.saveAll(orderItems);
+        });
+    }
+
+    private void measure(String name, IntConsumer round) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // first round warms up the JIT and the id generator blocks
+        transactionTemplate.executeWithoutResult(status -> round.accept(-1));
+
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            int current = i;
+            transactionTemplate.executeWithoutResult(status -> round.accept(current));
+        }
+        long elapsed = System.nanoTime() - started;
+        long rows = (long) ROUNDS * ROWS;
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("%s: %d rows in %d ms (%.0f rows/s), %d prepared statements, %d entity inserts%n",
+                name, rows, elapsed / 1_000_000, rows * 1e9 / elapsed, statements, statistics.getEntityInsertCount());
+
+        // batched inserts reuse their statements; IDENTITY ids would need one statement execution per row
+        assertThat(statements).isLessThan(rows / 10);
+    }
+
+    private static Product product(Category category, String name) {
+        return new Product(null, name, null, "benchmark product", 10, 100, 10, 90, category, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.entities.OutboxEvent;
+import com.ecommerce.project.entities.OutboxEventType;
+import com.ecommerce.project.entities.OutboxStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxEventRepositoryTests {
+
+    // far enough ahead that the running outbox workers never see these events
+    private static final LocalDateTime LATER = LocalDateTime.now().plusYears(100).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<OutboxEvent> events;
+
+    @Test
+    void concurrentClaimsSkipEventsLockedByAnotherWorker() throws Exception {
+        events = outboxEventRepository.saveAll(List.of(
+                new OutboxEvent(OutboxEventType.ORDER_NOTIFICATION, -1L, LATER),
+                new OutboxEvent(OutboxEventType.ORDER_NOTIFICATION, -2L, LATER)));
+        Long first = events.get(0).getOutboxEventId();
+        Long second = events.get(1).getOutboxEventId();
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> worker = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT outbox_event_id FROM outbox_events WHERE outbox_event_id = ? FOR UPDATE", first);
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // with the first event locked by the other worker this claim must return at once, without it
+        long started = System.nanoTime();
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> claim());
+        } finally {
+            release.countDown();
+        }
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started)).isLessThan(5);
+        worker.get(10, TimeUnit.SECONDS);
+        assertThat(ids).contains(second).doesNotContain(first);
+    }
+
+    @AfterEach
+    void dropEvents() {
+        if (events != null) {
+            outboxEventRepository.deleteAll(events);
+        }
+    }
+
+    private List<Long> claim() {
+        return outboxEventRepository.claimBatch(OutboxStatus.PENDING, LATER, PageRequest.of(0, 1_000)).stream()
+                .map(OutboxEvent::getOutboxEventId)
+                .toList();
+    }
+}
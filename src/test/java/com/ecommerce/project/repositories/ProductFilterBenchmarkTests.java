@@ -0,0 +1,148 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.dto.ProductFilterDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtered catalog pages over a large products table; run with {@code mvn test -Pbenchmark}. Runs on the H2
+ * test database unless {@code spring.datasource.*} and {@code spring.jpa.database-platform} point it at MySQL.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductFilterBenchmarkTests {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int CATEGORIES = 1_000;
+    private static final int SAMPLES = Integer.getInteger("benchmark.samples", 200);
+    private static final int TARGET_P95_MILLIS = Integer.getInteger("benchmark.p95-millis", 10);
+    private static final long FIRST_ID = 100_000_000L;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long firstCategoryId;
+
+    @Test
+    void filteredPagesStayUnderTargetAtP95() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Random random = new Random(42);
+
+        List<String> slow = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            long[] samples = new long[SAMPLES];
+            // the first samples only warm up the JIT and H2's page cache
+            for (int i = -SAMPLES / 4; i < SAMPLES; i++) {
+                ProductFilterDTO filter = scenario.filter(random, firstCategoryId);
+                PageRequest page = PageRequest.of(0, 10, Sort.by("specialPrice").ascending());
+                long started = System.nanoTime();
+                Page<ProductDTO> result = readOnly.execute(status -> productRepository.findProductDTOs(ProductSpecifications.matching(filter), page));
+                long elapsed = System.nanoTime() - started;
+                assertThat(result).isNotNull();
+                if (i >= 0) {
+                    samples[i] = elapsed;
+                }
+            }
+            Arrays.sort(samples);
+            double p50 = samples[SAMPLES / 2] / 1e6;
+            double p95 = samples[SAMPLES * 95 / 100] / 1e6;
+            System.out.printf("%s over %d products: p50 %.2f ms, p95 %.2f ms%n", scenario, PRODUCTS, p50, p95);
+            if (p95 >= TARGET_P95_MILLIS) {
+                slow.add(scenario.name());
+            }
+        }
+        assertThat(slow).isEmpty();
+    }
+
+    @AfterEach
+    void dropSeededProducts() {
+        jdbcTemplate.update("DELETE FROM products WHERE product_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM categories WHERE category_name LIKE 'Filter benchmark %'");
+    }
+
+    private void seed() {
+        List<Object[]> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(new Object[]{"Filter benchmark " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (category_name) VALUES (?)", categories);
+        firstCategoryId = jdbcTemplate.queryForObject(
+                "SELECT MIN(category_id) FROM categories WHERE category_name LIKE 'Filter benchmark %'", Long.class);
+
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < PRODUCTS; i++) {
+            double price = 1 + random.nextInt(10_000);
+            double discount = random.nextInt(10) == 0 ? 20 + random.nextInt(31) : random.nextInt(20);
+            int quantity = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(100);
+            rows.add(new Object[]{FIRST_ID + i, "Product " + i, "benchmark product", quantity, price, discount,
+                    price - discount * 0.01 * price, firstCategoryId + i % CATEGORIES});
+            if (rows.size() == 10_000 || i == PRODUCTS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (product_id, product_name, description, quantity, price, discount, " +
+                        "special_price, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE TABLE products");
+    }
+
+    private enum Scenario {
+        CATEGORIES_AND_PRICE_RANGE {
+            @Override
+            ProductFilterDTO filter(Random random, long firstCategoryId) {
+                List<Long> categoryIds = List.of(firstCategoryId + random.nextInt(CATEGORIES),
+                        firstCategoryId + random.nextInt(CATEGORIES), firstCategoryId + random.nextInt(CATEGORIES));
+                double minPrice = random.nextInt(9_000);
+                return new ProductFilterDTO(categoryIds, minPrice, minPrice + 1_000, null, false);
+            }
+        },
+        PRICE_RANGE_IN_STOCK {
+            @Override
+            ProductFilterDTO filter(Random random, long firstCategoryId) {
+                double minPrice = random.nextInt(9_900);
+                return new ProductFilterDTO(null, minPrice, minPrice + 50, null, true);
+            }
+        },
+        DEEP_DISCOUNT {
+            @Override
+            ProductFilterDTO filter(Random random, long firstCategoryId) {
+                return new ProductFilterDTO(null, null, null, 49.0, false);
+            }
+        },
+        CATEGORY_IN_STOCK_DISCOUNTED {
+            @Override
+            ProductFilterDTO filter(Random random, long firstCategoryId) {
+                return new ProductFilterDTO(List.of(firstCategoryId + random.nextInt(CATEGORIES)), null, null, 10.0, true);
+            }
+        };
+
+        abstract ProductFilterDTO filter(Random random, long firstCategoryId);
+    }
+}
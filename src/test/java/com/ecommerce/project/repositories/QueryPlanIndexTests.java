@@ -0,0 +1,78 @@
+package com.ecommerce.project.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cartItemLookupUsesCartProductIndex() {
+        assertThat(explain("SELECT * FROM cart_items ci WHERE ci.cart_id = 1 AND ci.product_id = 2"))
+                .containsIgnoringCase("idx_cart_items_cart_product");
+    }
+
+    @Test
+    void categoryByNameUsesCategoryNameIndex() {
+        assertThat(explain("SELECT * FROM categories c WHERE c.category_name = 'Books'"))
+                .containsIgnoringCase("idx_categories_category_name");
+    }
+
+    @Test
+    void cartByEmailUsesUniqueIndexes() {
+        String plan = explain("SELECT c.* FROM carts c JOIN users u ON u.user_id = c.user_id WHERE u.email = 'user@example.com'");
+        assertThat(plan).containsIgnoringCase("uk_users_email");
+        assertThat(plan).containsIgnoringCase("uk_carts_user_id");
+    }
+
+    @Test
+    void productNameIsUniquePerCategory() {
+        String plan = explain("SELECT p.product_id FROM products p WHERE p.category_id = 1 AND p.product_name = 'Phone'");
+        assertThat(plan).containsIgnoringCase("uk_products_category_product_name");
+    }
+
+    @Test
+    void productFilterByCategoriesAndPriceUsesCategorySpecialPriceIndex() {
+        assertThat(explain("SELECT p.product_id FROM products p WHERE p.category_id IN (1, 2) AND p.special_price BETWEEN 100 AND 500"))
+                .containsIgnoringCase("idx_products_category_special_price");
+    }
+
+    @Test
+    void productFilterByPriceUsesSpecialPriceIndex() {
+        assertThat(explain("SELECT p.product_id FROM products p WHERE p.special_price BETWEEN 100 AND 500 AND p.quantity > 0"))
+                .containsIgnoringCase("idx_products_special_price_quantity");
+    }
+
+    @Test
+    void productFilterByDiscountUsesDiscountIndex() {
+        assertThat(explain("SELECT p.product_id FROM products p WHERE p.discount >= 20"))
+                .containsIgnoringCase("idx_products_discount_special_price");
+    }
+
+    @Test
+    void orderHistoryByEmailUsesEmailOrderDateIndex() {
+        assertThat(explain("SELECT o.order_id FROM orders o WHERE o.email = 'user@example.com' AND o.order_date <= DATE '2024-01-31' " +
+                "ORDER BY o.order_date DESC, o.order_id DESC LIMIT 11"))
+                .containsIgnoringCase("idx_orders_email_order_date");
+    }
+
+    @Test
+    void stalePendingOrderScanUsesStatusUpdatedAtIndex() {
+        assertThat(explain("SELECT o.order_id FROM orders o WHERE o.order_status = 'P' " +
+                "AND o.status_updated_at < TIMESTAMP '2024-01-01 00:00:00' ORDER BY o.status_updated_at, o.order_id"))
+                .containsIgnoringCase("idx_orders_status_updated_at");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.entities.Category;
+import com.ecommerce.project.entities.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap and CPU cost of loading entities in read-write versus read-only transactions; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadOnlyTransactionBenchmarkTests {
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 20);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsSkipSnapshotsAndFlush() {
+        Category category = categoryRepository.save(new Category(null, "Read only " + System.nanoTime(), null));
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product(null, "Read only " + i, null, "benchmark product", 10, 100, 10, 90, category, null));
+        }
+        productRepository.saveAll(products);
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // warm up both paths before measuring
+        load(readWrite);
+        load(readOnly);
+
+        Cost readWriteCost = measure(readWrite);
+        Cost readOnlyCost = measure(readOnly);
+        System.out.printf("read-write: %d KB and %d ms CPU per load of %d products%n",
+                readWriteCost.bytes / ROUNDS / 1024, readWriteCost.cpuNanos / ROUNDS / 1_000_000, ROWS);
+        System.out.printf("read-only: %d KB and %d ms CPU per load of %d products%n",
+                readOnlyCost.bytes / ROUNDS / 1024, readOnlyCost.cpuNanos / ROUNDS / 1_000_000, ROWS);
+
+        assertThat(readOnlyCost.bytes).isLessThan(readWriteCost.bytes);
+    }
+
+    private Cost measure(TransactionTemplate transactionTemplate) {
+        long thread = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            load(transactionTemplate);
+        }
+        return new Cost(THREADS.getThreadAllocatedBytes(thread) - bytes, THREADS.getCurrentThreadCpuTime() - cpu);
+    }
+
+    private void load(TransactionTemplate transactionTemplate) {
+        transactionTemplate.executeWithoutResult(status -> assertThat(productRepository.findAll()).hasSizeGreaterThanOrEqualTo(ROWS));
+    }
+
+    private record Cost(long bytes, long cpuNanos) {
+    }
+}
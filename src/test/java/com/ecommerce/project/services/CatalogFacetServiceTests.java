@@ -0,0 +1,59 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CatalogFacetResponse;
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.CategoryFacetDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogFacetServiceTests {
+
+    @Autowired
+    private CatalogFacetService catalogFacetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void incrementalCountsMatchAFullReconcile() {
+        catalogFacetService.reconcile();
+        Long categoryId = categoryService.createCategory(new CategoryDTO(null, "Facets " + System.nanoTime()))
+                .getCategoryId();
+
+        ProductDTO cheap = productService.addProduct(categoryId, new ProductDTO(null, "Facet cheap", "description", null, 5, 100, 0, 0));
+        ProductDTO soldOut = productService.addProduct(categoryId, new ProductDTO(null, "Facet sold out", "description", null, 0, 700, 0, 0));
+        ProductDTO pricey = productService.addProduct(categoryId, new ProductDTO(null, "Facet pricey", "description", null, 3, 6000, 0, 0));
+        CategoryFacetDTO added = category(catalogFacetService.getFacets(), categoryId);
+        assertThat(added.getTotalProducts()).isEqualTo(3);
+        assertThat(added.getInStockProducts()).isEqualTo(2);
+
+        // sells out and moves to a cheaper price bucket
+        productService.updateProduct(pricey.getProductId(), new ProductDTO(null, "Facet pricey", "description", null, 0, 800, 0, 0));
+        productService.deleteProduct(cheap.getProductId());
+        productService.updateProduct(soldOut.getProductId(), new ProductDTO(null, "Facet sold out", "description", null, 4, 700, 0, 0));
+
+        CatalogFacetResponse incremental = catalogFacetService.getFacets();
+        assertThat(category(incremental, categoryId).getTotalProducts()).isEqualTo(2);
+        assertThat(category(incremental, categoryId).getInStockProducts()).isEqualTo(1);
+
+        catalogFacetService.reconcile();
+        assertThat(catalogFacetService.getFacets()).isEqualTo(incremental);
+    }
+
+    private static CategoryFacetDTO category(CatalogFacetResponse facets, Long categoryId) {
+        return facets.getCategories().stream()
+                .filter(facet -> facet.getCategoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
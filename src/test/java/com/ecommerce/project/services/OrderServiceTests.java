@@ -0,0 +1,234 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.OrderDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.entities.Address;
+import com.ecommerce.project.entities.Cart;
+import com.ecommerce.project.entities.CartItem;
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderItem;
+import com.ecommerce.project.entities.OrderStatus;
+import com.ecommerce.project.entities.Payment;
+import com.ecommerce.project.entities.PaymentStatus;
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.entities.User;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.repositories.AddressRepository;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.OrderItemRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.PaymentRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventHandler orderEventHandler;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Address address;
+    private Product product;
+    private Cart cart;
+
+    @BeforeEach
+    void seedCart() {
+        String name = "checkout" + System.nanoTime() % 1_000_000_000;
+        user = userRepository.save(new User(name, name + "@example.com", "password"));
+        address = addressRepository.save(new Address(null, "Main street", "Building", "Springfield", "State", "Country", "123456", user));
+        Long categoryId = categoryService.createCategory(new CategoryDTO(null, "Checkout " + name)).getCategoryId();
+        Long productId = productService.addProduct(categoryId, new ProductDTO(null, "Checkout product", "description", null, 10, 100, 0, 0))
+                .getProductId();
+        product = productRepository.findById(productId).orElseThrow();
+
+        cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalPrice(200.0);
+        cart = cartRepository.save(cart);
+        cartItemRepository.save(new CartItem(null, cart, product, 2, 0.0, 100.0));
+    }
+
+    @Test
+    void placingAnOrderEmptiesTheCartInTheSameTransaction() throws Exception {
+        OrderDTO order = placeOrder().call();
+
+        assertThat(order.getOrderItems()).hasSize(1);
+        assertThat(cartLines()).isZero();
+        assertThat(cartRepository.findById(cart.getCartId()).orElseThrow().getTotalPrice()).isZero();
+        assertThatThrownBy(() -> placeOrder().call())
+                .isInstanceOf(APIException.class)
+                .hasMessage("Cart is empty");
+    }
+
+    @Test
+    void concurrentCheckoutsOfOneCartPlaceOneOrder() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<OrderDTO>> checkouts = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    return placeOrder().call();
+                }));
+            }
+            start.countDown();
+
+            int placed = 0;
+            int rejected = 0;
+            for (Future<OrderDTO> checkout : checkouts) {
+                try {
+                    checkout.get();
+                    placed++;
+                } catch (ExecutionException exception) {
+                    assertThat(exception.getCause()).isInstanceOf(APIException.class).hasMessage("Cart is empty");
+                    rejected++;
+                }
+            }
+            assertThat(placed).isEqualTo(1);
+            assertThat(rejected).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void orderEventHandlersCanBeRedelivered() {
+        Long orderId = pendingOrder();
+
+        orderEventHandler.confirmPayment(orderId);
+        orderEventHandler.confirmPayment(orderId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+            assertThat(order.getPayment().getPaymentStatus()).isEqualTo(PaymentStatus.SUCCEEDED);
+        });
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE event_type = 'ORDER_NOTIFICATION' AND aggregate_id = ?", Long.class, orderId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void confirmationRacingAnExpiryAppliesOnlyOnce() throws Exception {
+        Long orderId = pendingOrder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> confirmation = executor.submit(() -> {
+                start.await();
+                orderEventHandler.confirmPayment(orderId);
+                return null;
+            });
+            Future<?> expiry = executor.submit(() -> {
+                start.await();
+                orderEventHandler.expirePendingOrder(orderId);
+                return null;
+            });
+            start.countDown();
+            confirmation.get();
+            expiry.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        OrderStatus status = transactionTemplate.execute(state -> orderRepository.findById(orderId).orElseThrow().getOrderStatus());
+        assertThat(status).isIn(OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE event_type = 'ORDER_NOTIFICATION' AND aggregate_id = ?", Long.class, orderId))
+                .isEqualTo(1);
+    }
+
+    private Callable<OrderDTO> placeOrder() {
+        return () -> orderService.placeOrder(user.getEmail(), address.getAddressId(), "card", "Stripe", "pi_test", "succeeded", "paid");
+    }
+
+    // an order written straight to the database, with no outbox events of its own
+    private Long pendingOrder() {
+        return transactionTemplate.execute(status -> {
+            Order order = new Order();
+            order.setEmail(user.getEmail());
+            order.setOrderDate(LocalDate.now());
+            order.setTotalAmount(200.0);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setStatusUpdatedAt(LocalDateTime.now());
+            order.setAddress(address);
+            Payment payment = new Payment();
+            payment.setPaymentMethod("card");
+            payment.setPaymentStatus(PaymentStatus.PENDING);
+            payment.setOrder(order);
+            order.setPayment(paymentRepository.save(payment));
+            Order savedOrder = orderRepository.save(order);
+            orderItemRepository.save(new OrderItem(null, product, savedOrder, 2, 0, 100));
+            return savedOrder.getOrderId();
+        });
+    }
+
+    private long cartLines() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items WHERE cart_id = ?", Long.class, cart.getCartId());
+    }
+}
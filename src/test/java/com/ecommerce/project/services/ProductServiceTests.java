@@ -0,0 +1,56 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.dto.CategoryDTO;
+import com.ecommerce.project.dto.ProductDTO;
+import com.ecommerce.project.exceptions.APIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceTests {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void seedCategory() {
+        categoryId = categoryService.createCategory(new CategoryDTO(null, "Names " + System.nanoTime())).getCategoryId();
+        productService.addProduct(categoryId, product("Phone"));
+    }
+
+    @Test
+    void productNamesAreUniquePerCategoryIgnoringCase() {
+        assertThatThrownBy(() -> productService.addProduct(categoryId, product("phone")))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Product already exists");
+
+        Long otherCategoryId = categoryService.createCategory(new CategoryDTO(null, "Other names " + System.nanoTime())).getCategoryId();
+        assertThat(productService.addProduct(otherCategoryId, product("phone")).getProductName()).isEqualTo("phone");
+    }
+
+    @Test
+    void renamingOntoAnotherProductsNameIsRejected() {
+        Long caseId = productService.addProduct(categoryId, product("Case")).getProductId();
+
+        assertThatThrownBy(() -> productService.updateProduct(caseId, product("PHONE")))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Product already exists");
+        assertThat(productService.updateProduct(caseId, product("CASE")).getProductName()).isEqualTo("CASE");
+    }
+
+    private static ProductDTO product(String name) {
+        return new ProductDTO(null, name, "description", null, 10, 100, 0, 0);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.project.services;
+
+import com.ecommerce.project.entities.Category;
+import com.ecommerce.project.entities.Order;
+import com.ecommerce.project.entities.OrderItem;
+import com.ecommerce.project.entities.OrderStatus;
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.OrderItemRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesAnalyticsServiceTests {
+
+    private static final String BACKFILL = "db/migration/V8__sales_rollups.sql";
+    // no other test places orders on this date
+    private static final LocalDate SALES_DATE = LocalDate.of(2001, 2, 3);
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void releasedOrdersNetToZeroAndRollupsMatchTheBackfill() throws IOException {
+        Category category = categoryRepository.save(new Category(null, "Rollups " + System.nanoTime(), null));
+        Product kept = productRepository.save(new Product(null, "Rollup kept", null, "description", 10, 100, 0, 100, category, null));
+        Product released = productRepository.save(new Product(null, "Rollup released", null, "description", 10, 50, 0, 50, category, null));
+
+        place(OrderStatus.CONFIRMED, kept, 2, released, 1);
+        place(OrderStatus.CANCELLED, kept, 3, released, 5);
+        place(OrderStatus.PAYMENT_FAILED, released, 4, released, 1);
+
+        assertThat(productRollup(kept.getProductId())).containsExactly(2L, 200.0, 1L);
+        assertThat(productRollup(released.getProductId())).containsExactly(1L, 50.0, 1L);
+
+        // the migration's backfill, run into scratch tables, must reproduce what the incremental updates left behind
+        List<String> statements = backfillStatements();
+        jdbcTemplate.execute("CREATE TABLE backfill_product AS SELECT * FROM sales_daily_product WHERE 1 = 0");
+        jdbcTemplate.execute("CREATE TABLE backfill_category AS SELECT * FROM sales_daily_category WHERE 1 = 0");
+        try {
+            statements.forEach(statement -> jdbcTemplate.execute(statement
+                    .replace("INSERT INTO sales_daily_product", "INSERT INTO backfill_product")
+                    .replace("INSERT INTO sales_daily_category", "INSERT INTO backfill_category")));
+            assertThat(rows("backfill_product")).isEqualTo(rows("sales_daily_product")).isNotEmpty();
+            assertThat(rows("backfill_category")).isEqualTo(rows("sales_daily_category")).isNotEmpty();
+        } finally {
+            jdbcTemplate.execute("DROP TABLE backfill_product");
+            jdbcTemplate.execute("DROP TABLE backfill_category");
+        }
+    }
+
+    @Test
+    void backfillExcludesExactlyTheStatusesThatReleaseStock() throws IOException {
+        Matcher excluded = Pattern.compile("order_status NOT IN \\(([^)]*)\\)").matcher(migration());
+        Set<String> released = Arrays.stream(OrderStatus.values())
+                .filter(OrderStatus::releasesStock)
+                .map(status -> "'" + status.getCode() + "'")
+                .collect(Collectors.toSet());
+
+        int statements = 0;
+        while (excluded.find()) {
+            assertThat(Arrays.stream(excluded.group(1).split(",")).map(String::trim).collect(Collectors.toSet()))
+                    .isEqualTo(released);
+            statements++;
+        }
+        assertThat(statements).isEqualTo(2);
+    }
+
+    private void place(OrderStatus finalStatus, Product first, int firstUnits, Product second, int secondUnits) {
+        Long orderId = transactionTemplate.execute(status -> {
+            Order order = new Order();
+            order.setEmail("rollups@example.com");
+            order.setOrderDate(SALES_DATE);
+            order.setTotalAmount(0.0);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setStatusUpdatedAt(LocalDateTime.now());
+            Order savedOrder = orderRepository.save(order);
+            List<OrderItem> items = new ArrayList<>();
+            items.add(new OrderItem(null, first, savedOrder, firstUnits, 0, first.getPrice()));
+            items.add(new OrderItem(null, second, savedOrder, secondUnits, 0, second.getPrice()));
+            savedOrder.setOrderItems(orderItemRepository.saveAll(items));
+            salesAnalyticsService.orderPlaced(savedOrder);
+            return savedOrder.getOrderId();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            order.transitionTo(finalStatus);
+            if (finalStatus.releasesStock()) {
+                salesAnalyticsService.orderReleased(order);
+            }
+        });
+    }
+
+    private List<Object> productRollup(Long productId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT units, revenue, order_count FROM sales_daily_product WHERE sales_date = ? AND product_id = ?", SALES_DATE, productId);
+        return new ArrayList<>(row.values());
+    }
+
+    private List<Map<String, Object>> rows(String table) {
+        return jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE sales_date = ? AND order_count > 0 ORDER BY 2", SALES_DATE);
+    }
+
+    private static List<String> backfillStatements() throws IOException {
+        return Arrays.stream(migration().split(";"))
+                .map(String::trim)
+                .map(statement -> statement.replaceAll("(?m)^--.*\\n", ""))
+                .filter(statement -> statement.startsWith("INSERT INTO sales_daily_"))
+                .toList();
+    }
+
+    private static String migration() throws IOException {
+        return new ClassPathResource(BACKFILL).getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.entities.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.CatalogVersion;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CartHoldServiceImplTests {
+
+    private static final long CART_ID = 7L;
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    // runs the transaction synchronizations without a database behind them
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new AbstractPlatformTransactionManager() {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    });
+
+    private final StockLedgerServiceImpl stockLedgerService = new StockLedgerServiceImpl(
+            mock(ProductRepository.class), mock(EntityManagerFactory.class), mock(CatalogVersion.class), 2, 16, 100);
+    private final CartHoldServiceImpl cartHoldService = new CartHoldServiceImpl(stockLedgerService, TTL, Duration.ofMillis(10), 64);
+
+    private Product product;
+
+    @BeforeEach
+    void holdFourUnits() {
+        product = new Product();
+        product.setProductId(1L);
+        product.setQuantity(10);
+        stockLedgerService.productSaved(1L, 10);
+
+        assertThat(cartHoldService.hold(CART_ID, product, 4)).isTrue();
+        assertThat(stockLedgerService.available(product)).isEqualTo(6);
+    }
+
+    @Test
+    void rolledBackReservationGoesBackToAvailableStock() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(stockLedgerService.reserve(product, 5)).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(stockLedgerService.available(product)).isEqualTo(6);
+    }
+
+    @Test
+    void rolledBackOrderLeavesTheHoldInPlace() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(cartHoldService.consume(CART_ID, product, 3)).isEqualTo(3);
+            status.setRollbackOnly();
+        });
+        assertThat(stockLedgerService.available(product)).isEqualTo(6);
+
+        // the whole hold is still there: three units are sold, the fourth goes back to available stock
+        int covered = transactionTemplate.execute(status -> cartHoldService.consume(CART_ID, product, 3));
+        assertThat(covered).isEqualTo(3);
+        assertThat(stockLedgerService.available(product)).isEqualTo(7);
+        assertThat(cartHoldService.consume(CART_ID, product, 3)).isZero();
+    }
+
+    @Test
+    void holdThatExpiresDuringARolledBackOrderIsReleasedAfterwards() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            cartHoldService.consume(CART_ID, product, 4);
+            sleepPast(TTL);
+            // the order has claimed the units, so the wheel must not hand them back
+            assertThat(cartHoldService.expireHolds()).isZero();
+            status.setRollbackOnly();
+        });
+        assertThat(stockLedgerService.available(product)).isEqualTo(6);
+
+        Thread.sleep(50);
+        assertThat(cartHoldService.expireHolds()).isEqualTo(1);
+        assertThat(stockLedgerService.available(product)).isEqualTo(10);
+    }
+
+    private static void sleepPast(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis() + 50);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
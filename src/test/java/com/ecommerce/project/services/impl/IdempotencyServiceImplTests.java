@@ -0,0 +1,141 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.exceptions.IdempotencyKeyMismatchException;
+import com.ecommerce.project.exceptions.ServiceOverloadedException;
+import com.ecommerce.project.services.IdempotencyService.Outcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceImplTests {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void replaysTheFirstResultForTheSameKeyAndRequest() {
+        IdempotencyServiceImpl service = service(Duration.ofMinutes(1), 10);
+
+        Outcome<Integer> first = service.execute("alice:1", List.of("card", 42), calls::incrementAndGet);
+        Outcome<Integer> second = service.execute("alice:1", List.of("card", 42), calls::incrementAndGet);
+
+        assertThat(first).isEqualTo(new Outcome<>(1, false));
+        assertThat(second).isEqualTo(new Outcome<>(1, true));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void concurrentRetriesCollapseIntoOneExecution() throws Exception {
+        IdempotencyServiceImpl service = service(Duration.ofMinutes(1), 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Outcome<Integer>> first = executor.submit(() -> service.execute("alice:1", "order", () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            started.await();
+            Future<Outcome<Integer>> retry = executor.submit(() -> service.execute("alice:1", "order", calls::incrementAndGet));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(new Outcome<>(1, false));
+            assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo(new Outcome<>(1, true));
+            assertThat(calls).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        IdempotencyServiceImpl service = service(Duration.ofMinutes(1), 10);
+        service.execute("alice:1", List.of("card", 42), calls::incrementAndGet);
+
+        assertThatThrownBy(() -> service.execute("alice:1", List.of("card", 43), calls::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keepsResultsForTheTtlAfterCompletion() {
+        IdempotencyServiceImpl service = service(Duration.ofMillis(50), 10);
+
+        service.execute("alice:1", "order", () -> {
+            sleep(100);
+            return calls.incrementAndGet();
+        });
+
+        assertThat(service.execute("alice:1", "order", calls::incrementAndGet).replayed()).isTrue();
+        sleep(100);
+        assertThat(service.execute("alice:1", "order", calls::incrementAndGet)).isEqualTo(new Outcome<>(2, false));
+    }
+
+    @Test
+    void evictsTheOldestCompletedKeysWhenFull() {
+        IdempotencyServiceImpl service = service(Duration.ofMinutes(1), 2);
+        service.execute("alice:1", "order", calls::incrementAndGet);
+        service.execute("alice:2", "order", calls::incrementAndGet);
+
+        service.execute("alice:3", "order", calls::incrementAndGet);
+
+        assertThat(service.execute("alice:2", "order", calls::incrementAndGet).replayed()).isTrue();
+        assertThat(service.execute("alice:1", "order", calls::incrementAndGet).replayed()).isFalse();
+    }
+
+    @Test
+    void rejectsNewKeysWhenFullOfInFlightRequests() throws Exception {
+        IdempotencyServiceImpl service = service(Duration.ofMinutes(1), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Outcome<Integer>> inFlight = executor.submit(() -> service.execute("alice:1", "order", () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            started.await();
+
+            assertThatThrownBy(() -> service.execute("bob:1", "order", calls::incrementAndGet))
+                    .isInstanceOf(ServiceOverloadedException.class);
+            release.countDown();
+            assertThat(inFlight.get(5, TimeUnit.SECONDS).value()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static IdempotencyServiceImpl service(Duration ttl, int maxEntries) {
+        return new IdempotencyServiceImpl(new ObjectMapper(), ttl, maxEntries);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.project.services.impl;
+
+import com.ecommerce.project.entities.OutboxEvent;
+import com.ecommerce.project.entities.OutboxEventType;
+import com.ecommerce.project.entities.OutboxStatus;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.services.OrderEventHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceImplTests {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OrderEventHandler orderEventHandler = mock(OrderEventHandler.class);
+    private final OutboxServiceImpl outboxService = new OutboxServiceImpl(outboxEventRepository, orderEventHandler, 10, 3, RETRY_DELAY);
+
+    private OutboxEvent event;
+
+    @BeforeEach
+    void claimOneEvent() {
+        event = new OutboxEvent(OutboxEventType.PAYMENT_CONFIRMATION, 42L, LocalDateTime.now());
+        when(outboxEventRepository.claimBatch(any(), any(), any())).thenReturn(List.of(event));
+    }
+
+    @Test
+    void marksHandledEventsDone() {
+        event.setLastError("earlier failure");
+
+        assertThat(outboxService.drainBatch()).isEqualTo(1);
+
+        verify(orderEventHandler).confirmPayment(42L);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(event.getProcessedAt()).isNotNull();
+        assertThat(event.getLastError()).isNull();
+    }
+
+    @Test
+    void retriesFailedEventsWithGrowingDelaysThenGivesUp() {
+        doThrow(new ResourceNotFoundException("Order not found with id: 42")).when(orderEventHandler).confirmPayment(42L);
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.drainBatch();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).contains("Order not found with id: 42");
+        assertThat(event.getAvailableAt()).isAfterOrEqualTo(before.plus(RETRY_DELAY));
+
+        outboxService.drainBatch();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAvailableAt()).isAfterOrEqualTo(before.plus(RETRY_DELAY.multipliedBy(2)));
+
+        outboxService.drainBatch();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getProcessedAt()).isNull();
+    }
+}
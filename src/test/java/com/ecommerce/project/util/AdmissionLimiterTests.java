@@ -0,0 +1,133 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void admitsWaitersInArrivalOrderAndRejectsWhenTheRoomIsFull() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 1, 1, 2, 0.5, 2.0);
+        assertThat(limiter.acquire(0)).isTrue();
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        Thread first = waiter(limiter, "first", admitted);
+        awaitWaiting(limiter, 1);
+        Thread second = waiter(limiter, "second", admitted);
+        awaitWaiting(limiter, 2);
+
+        assertThat(limiter.acquire(SECOND)).isFalse();
+        limiter.release(MILLI, false);
+        first.join();
+        second.join();
+
+        assertThat(admitted).containsExactly("first", "second");
+        assertThat(limiter.acquire(0)).isTrue();
+    }
+
+    @Test
+    void backsOffOnSlowOrOverloadedCompletionsAndGrowsBackWhenSaturated() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(4, 1, 8, 0, 0.5, 2.0);
+        limiter.acquire(0);
+        limiter.release(MILLI, false);
+
+        limiter.acquire(0);
+        limiter.release(10 * MILLI, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+        limiter.acquire(0);
+        limiter.release(MILLI, true);
+        assertThat(limiter.limit()).isEqualTo(1);
+
+        for (int round = 0; round < 50; round++) {
+            int limit = limiter.limit();
+            for (int i = 0; i < limit; i++) {
+                assertThat(limiter.acquire(0)).isTrue();
+            }
+            assertThat(limiter.acquire(0)).isFalse();
+            for (int i = 0; i < limit; i++) {
+                limiter.release(MILLI, false);
+            }
+        }
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void neverRunsMoreThanTheLimitUnderContention() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(3, 3, 3, 64, 0.5, 2.0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> futures = new CopyOnWriteArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                futures.add(executor.submit(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 200; i++) {
+                        if (limiter.acquire(10 * SECOND)) {
+                            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            running.decrementAndGet();
+                            limiter.release(MILLI, false);
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            int admitted = 0;
+            for (Future<Integer> future : futures) {
+                admitted += future.get();
+            }
+            assertThat(admitted).isEqualTo(16 * 200);
+            assertThat(peak.get()).isLessThanOrEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Thread waiter(AdmissionLimiter limiter, String name, List<String> admitted) {
+        Thread thread = new Thread(() -> {
+            try {
+                if (limiter.acquire(10 * SECOND)) {
+                    admitted.add(name);
+                    limiter.release(MILLI, false);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    void retiresOnlyWhenIdleAndThenAdmitsNoOne() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(2, 1, 2, 2, 0.5, 2.0);
+        assertThat(limiter.acquire(0)).isTrue();
+        Thread.sleep(5);
+        assertThat(limiter.retireIfIdle(MILLI)).isFalse();
+
+        limiter.release(MILLI, false);
+        assertThat(limiter.retireIfIdle(SECOND)).isFalse();
+        Thread.sleep(5);
+        assertThat(limiter.retireIfIdle(MILLI)).isTrue();
+        assertThat(limiter.acquire(SECOND)).isFalse();
+        assertThat(limiter.isRetired()).isTrue();
+    }
+
+    private static void awaitWaiting(AdmissionLimiter limiter, int waiting) throws InterruptedException {
+        while (limiter.waiting() < waiting) {
+            Thread.sleep(1);
+        }
+    }
+}
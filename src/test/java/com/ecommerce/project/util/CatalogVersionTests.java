@@ -0,0 +1,36 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.config.datasource.ReplicaDataSourceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionTests {
+
+    @Test
+    void versionsSettleOnceReplicasHadTheReadYourWritesWindowToCatchUp() throws InterruptedException {
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setReplicas(List.of(new ReplicaDataSourceProperties.Replica()));
+        properties.setReadYourWritesWindow(Duration.ofMillis(100));
+        CatalogVersion catalogVersion = new CatalogVersion(properties);
+
+        catalogVersion.bump();
+        CatalogVersion.Snapshot bumped = catalogVersion.current();
+        assertThat(catalogVersion.isSettled(bumped)).isFalse();
+
+        Thread.sleep(150);
+        assertThat(catalogVersion.isSettled(bumped)).isTrue();
+    }
+
+    @Test
+    void versionsSettleAtOnceWithoutReplicas() {
+        CatalogVersion catalogVersion = new CatalogVersion(new ReplicaDataSourceProperties());
+
+        catalogVersion.bump();
+
+        assertThat(catalogVersion.isSettled(catalogVersion.current())).isTrue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class DecayingTopKTests {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void keepsHeavyHittersAmongManyRareKeys() {
+        DecayingTopK topK = new DecayingTopK(5, 1024, 4, HOUR, 0);
+        for (long key = 1000; key < 6000; key++) {
+            topK.add(key, 1, 0);
+        }
+        for (long key = 1; key <= 5; key++) {
+            topK.add(key, 100 * key, 0);
+        }
+
+        assertThat(topK.top(5, 0)).extracting(DecayingTopK.Entry::key).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void recentActivityOvertakesDecayedActivity() {
+        DecayingTopK topK = new DecayingTopK(2, 256, 4, HOUR, 0);
+        topK.add(1, 100, 0);
+        topK.add(2, 30, 3 * HOUR);
+
+        List<DecayingTopK.Entry> top = topK.top(2, 3 * HOUR);
+        assertThat(top).extracting(DecayingTopK.Entry::key).containsExactly(2L, 1L);
+        assertThat(top.get(1).count()).isCloseTo(12.5, offset(0.01));
+    }
+
+    @Test
+    void survivesRebaseAndCheckpointRoundTrip() throws IOException {
+        DecayingTopK topK = new DecayingTopK(3, 256, 4, HOUR, 0);
+        topK.add(7, 10, 0);
+        topK.add(8, 10, 100 * HOUR);
+        topK.add(8, 10, 100 * HOUR);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        topK.writeTo(new DataOutputStream(bytes));
+        DecayingTopK restored = new DecayingTopK(3, 256, 4, HOUR, 0);
+        assertThat(restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))).isTrue();
+
+        assertThat(restored.top(1, 100 * HOUR)).singleElement().satisfies(entry -> {
+            assertThat(entry.key()).isEqualTo(8L);
+            assertThat(entry.count()).isCloseTo(20, offset(0.001));
+        });
+        assertThat(new DecayingTopK(3, 128, 4, HOUR, 0)
+                .readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))).isFalse();
+    }
+}
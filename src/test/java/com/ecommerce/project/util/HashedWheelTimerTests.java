@@ -0,0 +1,42 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTimerTests {
+
+    @Test
+    void expiresDueTimeoutsInBatchesAndSkipsCancelledOnes() {
+        HashedWheelTimer<Integer> timer = new HashedWheelTimer<>(8, 100, 0);
+        List<HashedWheelTimer.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            timeouts.add(timer.schedule(i, 100L * i));
+        }
+        assertThat(timer.cancel(timeouts.get(3))).isTrue();
+        assertThat(timer.cancel(timeouts.get(3))).isFalse();
+
+        assertThat(timer.expire(450)).containsExactlyInAnyOrder(0, 1, 2, 4);
+        assertThat(timer.expire(450)).isEmpty();
+        assertThat(timer.cancel(timeouts.get(4))).isFalse();
+        assertThat(timer.size()).isEqualTo(5);
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneTurnUntilTheirRound() {
+        HashedWheelTimer<String> timer = new HashedWheelTimer<>(4, 10, 0);
+        timer.schedule("later", 125);
+        timer.schedule("soon", 25);
+
+        assertThat(timer.expire(30)).containsExactly("soon");
+        assertThat(timer.expire(120)).isEmpty();
+        assertThat(timer.expire(130)).containsExactly("later");
+
+        timer.schedule("overdue", 0);
+        assertThat(timer.expire(10_000)).containsExactly("overdue");
+        assertThat(timer.size()).isZero();
+    }
+}
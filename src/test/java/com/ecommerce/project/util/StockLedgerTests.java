@@ -0,0 +1,193 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockLedgerTests {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void neverOversellsHotProductsUnderContention() throws Exception {
+        StockLedger ledger = new StockLedger(4, 8);
+        for (long productId = 1; productId <= 4; productId++) {
+            ledger.put(productId, 5_000, false);
+        }
+
+        List<Long> sold = runConcurrently(() -> {
+            long units = 0;
+            for (int i = 0; i < 20_000; i++) {
+                long productId = 1 + ThreadLocalRandom.current().nextInt(4);
+                int quantity = 1 + ThreadLocalRandom.current().nextInt(3);
+                int remaining = ledger.reserve(productId, quantity);
+                assertThat(remaining).isGreaterThanOrEqualTo(StockLedger.REJECTED);
+                if (remaining >= 0) {
+                    units += quantity;
+                }
+            }
+            return units;
+        });
+
+        long remaining = 0;
+        for (long productId = 1; productId <= 4; productId++) {
+            assertThat(ledger.available(productId)).isBetween(0, 2);
+            remaining += ledger.available(productId);
+        }
+        assertThat(sold.stream().mapToLong(Long::longValue).sum() + remaining).isEqualTo(20_000);
+    }
+
+    @Test
+    void reservationsAndReleasesBalanceWhileTheTableGrows() throws Exception {
+        StockLedger ledger = new StockLedger(2, 2);
+        for (long productId = 1; productId <= 64; productId++) {
+            ledger.put(productId, 100, false);
+        }
+        AtomicBoolean readerFailed = new AtomicBoolean();
+
+        runConcurrently(() -> {
+            long thread = Thread.currentThread().getId();
+            for (int i = 0; i < 5_000; i++) {
+                long productId = 1 + ThreadLocalRandom.current().nextInt(64);
+                switch (i % 3) {
+                    case 0 -> {
+                        if (ledger.reserve(productId, 1) >= 0) {
+                            ledger.release(productId, 1);
+                        }
+                    }
+                    case 1 -> ledger.put(1_000_000L * thread + i, 1, true);
+                    default -> {
+                        int available = ledger.available(productId);
+                        if (available < 0 || available > 100) {
+                            readerFailed.set(true);
+                        }
+                    }
+                }
+            }
+            return 0L;
+        });
+
+        assertThat(readerFailed).isFalse();
+        for (long productId = 1; productId <= 64; productId++) {
+            assertThat(ledger.available(productId)).isEqualTo(100);
+        }
+        assertThat(ledger.size()).isEqualTo(64 + THREADS * (5_000 / 3 + 1));
+    }
+
+    @Test
+    void removeKeepsProbeChainsAndDrainsDirtyEntriesInChunks() {
+        StockLedger ledger = new StockLedger(1, 4);
+        for (long productId = 1; productId <= 1_000; productId++) {
+            ledger.put(productId, (int) productId, productId % 10 == 0);
+        }
+        for (long productId = 2; productId <= 1_000; productId += 2) {
+            ledger.remove(productId);
+        }
+        for (long productId = 1; productId <= 1_000; productId++) {
+            assertThat(ledger.available(productId)).isEqualTo(productId % 2 == 0 ? StockLedger.MISSING : (int) productId);
+        }
+        ledger.reserve(11, 1);
+        ledger.release(13, 1);
+
+        long[] productIds = new long[1];
+        int[] quantities = new int[1];
+        Set<Long> drained = new HashSet<>();
+        while (ledger.drainDirty(productIds, quantities) == 1) {
+            drained.add(productIds[0]);
+        }
+        assertThat(drained).containsExactlyInAnyOrder(11L, 13L);
+        assertThat(ledger.drainDirty(productIds, quantities)).isZero();
+        assertThat(ledger.size()).isEqualTo(500);
+    }
+
+    @Test
+    void heldUnitsLeaveAvailableStockButStayOnHand() {
+        StockLedger ledger = new StockLedger(1, 4);
+        ledger.put(1, 10, false);
+
+        assertThat(ledger.hold(1, 4)).isEqualTo(6);
+        assertThat(ledger.hold(1, 7)).isEqualTo(StockLedger.REJECTED);
+        assertThat(ledger.releaseHeld(1, 1)).isEqualTo(7);
+        assertThat(ledger.consumeHeld(1, 5)).isEqualTo(3);
+        ledger.put(1, 9, true);
+        assertThat(ledger.hold(1, 2)).isEqualTo(7);
+
+        long[] productIds = new long[4];
+        int[] quantities = new int[4];
+        assertThat(ledger.drainDirty(productIds, quantities)).isEqualTo(1);
+        assertThat(quantities[0]).isEqualTo(9);
+        assertThat(ledger.held(1)).isEqualTo(2);
+    }
+
+    @Test
+    void restoringConsumedUnitsPutsThemBackOnHold() {
+        StockLedger ledger = new StockLedger(1, 4);
+        ledger.put(1, 10, false);
+        ledger.hold(1, 4);
+
+        assertThat(ledger.consumeHeld(1, 3)).isEqualTo(3);
+        ledger.restoreHeld(1, 3);
+
+        assertThat(ledger.held(1)).isEqualTo(4);
+        assertThat(ledger.available(1)).isEqualTo(6);
+        // back to what the database already holds, so there is nothing to write
+        long[] productIds = new long[4];
+        int[] quantities = new int[4];
+        assertThat(ledger.drainDirty(productIds, quantities)).isZero();
+    }
+
+    @Test
+    void drainsOnlyQuantitiesTheDatabaseDoesNotHaveYet() {
+        StockLedger ledger = new StockLedger(1, 4);
+        ledger.put(1, 10, false);
+        ledger.put(2, 5, false);
+        ledger.reserve(1, 4);
+        ledger.reserve(2, 5);
+        ledger.release(2, 5);
+
+        long[] productIds = new long[4];
+        int[] quantities = new int[4];
+        assertThat(ledger.drainDirty(productIds, quantities)).isEqualTo(1);
+        assertThat(productIds[0]).isEqualTo(1);
+        assertThat(ledger.markPersisted(1, quantities[0])).isEqualTo(10);
+
+        ledger.release(1, 4);
+        ledger.reserve(1, 4);
+        assertThat(ledger.drainDirty(productIds, quantities)).isZero();
+        assertThat(ledger.markPersisted(3, 1)).isEqualTo(StockLedger.MISSING);
+    }
+
+    private static List<Long> runConcurrently(Callable<Long> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Long> results = new ArrayList<>(THREADS);
+            for (Future<Long> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstThenRefillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+        assertThat(bucket.tryAcquire(SECOND)).isEqualTo(SECOND);
+
+        assertThat(bucket.isFull(3 * SECOND)).isFalse();
+        assertThat(bucket.isFull(4 * SECOND)).isTrue();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+    }
+
+    @Test
+    void handsOutExactlyTheCapacityToConcurrentCallers() throws Exception {
+        TokenBucket bucket = new TokenBucket(1_000, SECOND, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                futures.add(executor.submit(() -> {
+                    int taken = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            int taken = 0;
+            for (Future<Integer> future : futures) {
+                taken += future.get();
+            }
+            assertThat(taken).isEqualTo(1_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}